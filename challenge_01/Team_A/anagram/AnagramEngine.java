@@ -0,0 +1,144 @@
+package anagram;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Single-pass anagram check over the normalized alphabet {@code [a-z0-9]}.
+ * Both inputs are folded and counted straight into a per-thread histogram,
+ * so a check allocates nothing and bails out on the first surplus character.
+ */
+public final class AnagramEngine {
+    static final int ALPHABET = 36;
+
+    // Histogram slot for each ASCII char, -1 for anything normalize() would strip
+    private static final byte[] ASCII_SLOT = new byte[128];
+    // Canonical character for each slot, in signature order
+    private static final byte[] SLOT_CHAR = "abcdefghijklmnopqrstuvwxyz0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<int[]> HISTOGRAM = ThreadLocal.withInitial(() -> new int[ALPHABET]);
+
+    static {
+        Arrays.fill(ASCII_SLOT, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            ASCII_SLOT['a' + i] = (byte) i;
+            ASCII_SLOT['A' + i] = (byte) i;
+        }
+        for (int i = 0; i < 10; i++) {
+            ASCII_SLOT['0' + i] = (byte) (26 + i);
+        }
+    }
+
+    private AnagramEngine() {}
+
+    public static boolean isAnagram(CharSequence a, CharSequence b) {
+        if (a == null) a = "";
+        if (b == null) b = "";
+        int[] counts = HISTOGRAM.get();
+        try {
+            int remaining = 0;
+            for (int i = 0, n = a.length(); i < n; i++) {
+                int slot = slot(a.charAt(i));
+                if (slot >= 0) {
+                    counts[slot]++;
+                    remaining++;
+                }
+            }
+            for (int i = 0, n = b.length(); i < n; i++) {
+                int slot = slot(b.charAt(i));
+                if (slot >= 0) {
+                    // b has more of this character than a: no need to look further
+                    if (--counts[slot] < 0) return false;
+                    remaining--;
+                }
+            }
+            return remaining == 0;
+        } finally {
+            Arrays.fill(counts, 0);
+        }
+    }
+
+    /**
+     * Same check over two ranges of UTF-8 bytes, e.g. both halves of an input line.
+     * Multi-byte sequences are skipped byte by byte, exactly as normalization drops them.
+     */
+    public static boolean isAnagram(byte[] utf8, int aFrom, int aTo, int bFrom, int bTo) {
+        int[] counts = HISTOGRAM.get();
+        try {
+            int remaining = 0;
+            for (int i = aFrom; i < aTo; i++) {
+                byte c = utf8[i];
+                if (c >= 0 && ASCII_SLOT[c] >= 0) {
+                    counts[ASCII_SLOT[c]]++;
+                    remaining++;
+                }
+            }
+            for (int i = bFrom; i < bTo; i++) {
+                byte c = utf8[i];
+                if (c >= 0 && ASCII_SLOT[c] >= 0) {
+                    if (--counts[ASCII_SLOT[c]] < 0) return false;
+                    remaining--;
+                }
+            }
+            return remaining == 0;
+        } finally {
+            Arrays.fill(counts, 0);
+        }
+    }
+
+    /**
+     * Canonical signature: the normalized characters in sorted order, so two
+     * inputs are anagrams per {@link AnagramDetector} exactly when their
+     * signatures are equal.
+     */
+    public static String signature(CharSequence s) {
+        if (s == null) return "";
+        int[] counts = HISTOGRAM.get();
+        int length = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            int slot = slot(s.charAt(i));
+            if (slot >= 0) {
+                counts[slot]++;
+                length++;
+            }
+        }
+        return drain(counts, length);
+    }
+
+    /**
+     * Signature of the UTF-8 bytes in {@code [from, to)}. Every byte of a multi-byte
+     * sequence is >= 0x80 and normalization drops non-ASCII anyway, so the bytes can
+     * be counted without decoding.
+     */
+    public static String signature(ByteBuffer utf8, int from, int to) {
+        int[] counts = HISTOGRAM.get();
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            byte b = utf8.get(i);
+            if (b >= 0 && ASCII_SLOT[b] >= 0) {
+                counts[ASCII_SLOT[b]]++;
+                length++;
+            }
+        }
+        return drain(counts, length);
+    }
+
+    // Counting sort straight out of the histogram, leaving it zeroed for the next caller
+    private static String drain(int[] counts, int length) {
+        byte[] sorted = new byte[length];
+        int pos = 0;
+        for (int slot = 0; slot < ALPHABET; slot++) {
+            for (int k = counts[slot]; k > 0; k--) sorted[pos++] = SLOT_CHAR[slot];
+            counts[slot] = 0;
+        }
+        return new String(sorted, StandardCharsets.ISO_8859_1);
+    }
+
+    // Maps a char to its histogram slot, or -1 when normalization drops it
+    static int slot(char c) {
+        if (c < 128) return ASCII_SLOT[c];
+        // Outside ASCII nothing survives "[^A-Za-z0-9]", surrogate halves included,
+        // so the code-point fallback is simply to skip it
+        return -1;
+    }
+}
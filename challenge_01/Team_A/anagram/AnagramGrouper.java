@@ -0,0 +1,235 @@
+package anagram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Groups every word of a (possibly multi-GB) word list into anagram classes.
+ * <p>
+ * The file is memory-mapped and cut into segments on line boundaries; a fork-join
+ * pool builds one signature map per segment and merges them pairwise on the way
+ * back up. Signatures come from {@link AnagramEngine#signature(ByteBuffer, int, int)},
+ * so two words share a class exactly when {@link AnagramDetector} calls them anagrams.
+ */
+public final class AnagramGrouper {
+    // Segment size per leaf task; also keeps every mapping well under the 2 GB limit
+    private static final long SEGMENT_SIZE = 32L << 20;
+    // Leading bytes of a segment sampled to estimate its line count
+    private static final int SAMPLE_SIZE = 64 << 10;
+
+    private final Map<String, Object> classes; // signature -> String or List<String> of distinct words
+    private final long lines;
+
+    private AnagramGrouper(Map<String, Object> classes, long lines) {
+        this.classes = classes;
+        this.lines = lines;
+    }
+
+    public static AnagramGrouper group(Path file, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = segmentBounds(channel);
+            Segment root = new Segment(channel, bounds, 0, bounds.length - 1);
+            try {
+                return pool.invoke(root);
+            } catch (RuntimeException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                throw e;
+            }
+        }
+    }
+
+    /** Writes every class with at least two distinct words, one class per line. Returns the class count. */
+    public long writeClasses(Writer out) throws IOException {
+        long written = 0;
+        for (Object members : classes.values()) {
+            if (!(members instanceof List<?> words)) continue;
+            for (int i = 0; i < words.size(); i++) {
+                if (i > 0) out.write(' ');
+                out.write((String) words.get(i));
+            }
+            out.write('\n');
+            written++;
+        }
+        out.flush();
+        return written;
+    }
+
+    public long lines() {
+        return lines;
+    }
+
+    public int signatures() {
+        return classes.size();
+    }
+
+    /** Runs the grouping job, writing classes to {@code out} and a throughput report to {@code report}. */
+    public static void run(Path file, Writer out, PrintStream report) throws IOException {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        long bytes = file.toFile().length();
+        long start = System.nanoTime();
+        AnagramGrouper grouper = group(file, ForkJoinPool.commonPool());
+        long grouped = System.nanoTime();
+        long written = grouper.writeClasses(out);
+        long end = System.nanoTime();
+
+        // Each pool peaks at its own moment, so their sum bounds the real peak from above
+        long peakHeapBound = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeapBound += pool.getPeakUsage().getUsed();
+        }
+        double seconds = (grouped - start) / 1e9;
+        report.printf("Grouped %,d lines (%,d MB) into %,d signatures in %.2f s: %,.0f lines/s, %,.1f MB/s%n",
+                grouper.lines(), bytes >> 20, grouper.signatures(), seconds,
+                grouper.lines() / seconds, bytes / 1048576.0 / seconds);
+        report.printf("Wrote %,d anagram classes in %.2f s; peak heap at most %,d MB%n",
+                written, (end - grouped) / 1e9, peakHeapBound >> 20);
+    }
+
+    // Segment start offsets plus the file size, each start just past a '\n'
+    private static long[] segmentBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long pos = SEGMENT_SIZE;
+        while (pos < size) {
+            long boundary = -1;
+            for (long at = pos; boundary < 0 && at < size; at += probe.capacity()) {
+                probe.clear();
+                int read = channel.read(probe, at);
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        boundary = at + i + 1;
+                        break;
+                    }
+                }
+            }
+            if (boundary < 0 || boundary >= size) break;
+            bounds.add(boundary);
+            pos = boundary + SEGMENT_SIZE;
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Segment extends RecursiveTask<AnagramGrouper> {
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+
+        Segment(FileChannel channel, long[] bounds, int from, int to) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected AnagramGrouper compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                Segment left = new Segment(channel, bounds, from, mid);
+                left.fork();
+                AnagramGrouper right = new Segment(channel, bounds, mid, to).compute();
+                return merge(left.join(), right);
+            }
+            try {
+                return scan(channel.map(FileChannel.MapMode.READ_ONLY, bounds[from], bounds[to] - bounds[from]));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static AnagramGrouper scan(MappedByteBuffer buffer) {
+            int limit = buffer.limit();
+            // The slice's line count bounds its signatures. It is estimated from a sample rather
+            // than a second pass over the slice; if later lines run shorter, the map just grows
+            Map<String, Object> classes = new HashMap<>(Math.max(16, (int) (expectedLines(buffer, limit) / 0.75f) + 1));
+            byte[] line = new byte[256];
+            long lines = 0;
+            int start = 0;
+            while (start < limit) {
+                int end = start;
+                while (end < limit && buffer.get(end) != '\n') end++;
+                int wordEnd = end > start && buffer.get(end - 1) == '\r' ? end - 1 : end;
+                String signature = AnagramEngine.signature(buffer, start, wordEnd);
+                if (!signature.isEmpty()) {
+                    int length = wordEnd - start;
+                    if (length > line.length) line = new byte[Math.max(length, line.length * 2)];
+                    buffer.get(start, line, 0, length);
+                    add(classes, signature, new String(line, 0, length, StandardCharsets.UTF_8).trim());
+                }
+                lines++;
+                start = end + 1;
+            }
+            return new AnagramGrouper(classes, lines);
+        }
+
+        private static long expectedLines(MappedByteBuffer buffer, int limit) {
+            int sample = Math.min(limit, SAMPLE_SIZE);
+            int newlines = 1;
+            for (int i = 0; i < sample; i++) {
+                if (buffer.get(i) == '\n') newlines++;
+            }
+            return sample == 0 ? 0 : (long) limit * newlines / sample;
+        }
+
+        private static AnagramGrouper merge(AnagramGrouper a, AnagramGrouper b) {
+            AnagramGrouper big = a.classes.size() >= b.classes.size() ? a : b;
+            AnagramGrouper small = big == a ? b : a;
+            for (Map.Entry<String, Object> entry : small.classes.entrySet()) {
+                if (entry.getValue() instanceof List<?> words) {
+                    for (Object word : words) add(big.classes, entry.getKey(), (String) word);
+                } else {
+                    add(big.classes, entry.getKey(), (String) entry.getValue());
+                }
+            }
+            return new AnagramGrouper(big.classes, a.lines + b.lines);
+        }
+
+        // Most signatures have a single word, so it is stored bare until a second one shows up
+        @SuppressWarnings("unchecked")
+        private static void add(Map<String, Object> classes, String signature, String word) {
+            Object members = classes.get(signature);
+            if (members == null) {
+                classes.put(signature, word);
+            } else if (members instanceof String single) {
+                if (!single.equals(word)) {
+                    List<String> words = new ArrayList<>(2);
+                    words.add(single);
+                    words.add(word);
+                    classes.put(signature, words);
+                }
+            } else {
+                List<String> words = (List<String>) members;
+                if (!words.contains(word)) words.add(word);
+            }
+        }
+    }
+}
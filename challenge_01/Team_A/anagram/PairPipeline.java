@@ -0,0 +1,175 @@
+package anagram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unix-filter mode: reads {@code first<TAB>second} lines and writes one
+ * {@code true}/{@code false} line per input line, in input order. Lines without a
+ * tab are reported as {@code false}.
+ * <p>
+ * Input is read in large blocks and parsed as raw bytes, with no decoding,
+ * {@code Scanner} or regex. Each block is cut on line boundaries into one slice per
+ * thread; every slice renders its verdicts into its own byte buffer and the buffers
+ * are written out in slice order. Whenever no more input is waiting, the complete
+ * lines read so far are answered and flushed, so a slow writer upstream still gets
+ * its verdicts as it goes.
+ */
+public final class PairPipeline {
+    private static final int BLOCK_SIZE = 8 << 20;
+    private static final byte[] TRUE = "true\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final int threads;
+    private final ExecutorService workers;
+
+    public PairPipeline(int threads) {
+        this.threads = Math.max(1, threads);
+        this.workers = this.threads > 1 ? Executors.newFixedThreadPool(this.threads, r -> {
+            Thread t = new Thread(r, "anagram-pipeline");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+    }
+
+    /** Worker threads actually used: the requested count, at least one. */
+    public int threads() {
+        return threads;
+    }
+
+    /** Returns the number of lines processed. */
+    public long run(InputStream in, OutputStream out) throws IOException {
+        byte[] block = new byte[BLOCK_SIZE];
+        Slice[] slices = new Slice[threads];
+        for (int i = 0; i < threads; i++) slices[i] = new Slice();
+        long lines = 0;
+        int filled = 0;
+        try {
+            while (true) {
+                int read = in.read(block, filled, block.length - filled);
+                boolean eof = read < 0;
+                if (!eof) {
+                    filled += read;
+                    if (filled < block.length && in.available() > 0) continue;
+                }
+                if (filled == 0) break;
+
+                // Only complete lines are processed; the tail moves to the next block
+                int end = eof ? filled : lastNewline(block, filled) + 1;
+                if (end == 0) {
+                    // No complete line yet; once a single line fills the block, grow it
+                    if (filled == block.length) block = Arrays.copyOf(block, block.length * 2);
+                    continue;
+                }
+                lines += process(block, end, slices, out);
+                System.arraycopy(block, end, block, 0, filled - end);
+                filled -= end;
+                if (eof) break;
+                if (in.available() == 0) out.flush();
+            }
+        } finally {
+            if (workers != null) workers.shutdown();
+        }
+        out.flush();
+        return lines;
+    }
+
+    /** Runs the pipeline, writing verdicts to {@code out} and a throughput report to {@code report}. */
+    public static void run(InputStream in, OutputStream out, int threads, PrintStream report) throws IOException {
+        long start = System.nanoTime();
+        PairPipeline pipeline = new PairPipeline(threads);
+        long lines = pipeline.run(in, out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        report.printf("Checked %,d pairs in %.2f s on %d thread(s): %,.0f lines/s%n",
+                lines, seconds, pipeline.threads(), lines / seconds);
+    }
+
+    private long process(byte[] block, int end, Slice[] slices, OutputStream out) throws IOException {
+        if (workers == null || end < 64 * 1024) {
+            slices[0].check(block, 0, end);
+            slices[0].writeTo(out);
+            return slices[0].lines;
+        }
+        List<Future<?>> pending = new ArrayList<>(threads);
+        int from = 0;
+        for (int i = 0; i < threads; i++) {
+            int to = i == threads - 1 ? end : Math.max(from, nextLineStart(block, (int) ((long) end * (i + 1) / threads), end));
+            Slice slice = slices[i];
+            int sliceFrom = from;
+            pending.add(workers.submit(() -> slice.check(block, sliceFrom, to)));
+            from = to;
+        }
+        long lines = 0;
+        for (int i = 0; i < threads; i++) {
+            try {
+                pending.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+            slices[i].writeTo(out);
+            lines += slices[i].lines;
+        }
+        return lines;
+    }
+
+    private static int lastNewline(byte[] block, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (block[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    private static int nextLineStart(byte[] block, int from, int end) {
+        while (from < end && block[from - 1] != '\n') from++;
+        return from;
+    }
+
+    // Verdicts for one run of complete lines, rendered into a reusable buffer
+    private static final class Slice {
+        byte[] out = new byte[64 * 1024];
+        int size;
+        long lines;
+
+        void check(byte[] block, int from, int to) {
+            size = 0;
+            lines = 0;
+            int lineStart = from;
+            while (lineStart < to) {
+                int tab = -1;
+                int eol = lineStart;
+                while (eol < to && block[eol] != '\n') {
+                    if (tab < 0 && block[eol] == '\t') tab = eol;
+                    eol++;
+                }
+                int lineEnd = eol > lineStart && block[eol - 1] == '\r' ? eol - 1 : eol;
+                boolean anagram = tab >= 0 && AnagramEngine.isAnagram(block, lineStart, tab, tab + 1, lineEnd);
+                append(anagram ? TRUE : FALSE);
+                lines++;
+                lineStart = eol + 1;
+            }
+        }
+
+        void append(byte[] verdict) {
+            if (size + verdict.length > out.length) out = Arrays.copyOf(out, out.length * 2);
+            System.arraycopy(verdict, 0, out, size, verdict.length);
+            size += verdict.length;
+        }
+
+        void writeTo(OutputStream target) throws IOException {
+            target.write(out, 0, size);
+        }
+    }
+}
@@ -1,11 +1,57 @@
 package main;
 
 import anagram.AnagramDetector;
+import anagram.AnagramGrouper;
+import anagram.PairPipeline;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 public class Main {
-    public static void main(String[] args) {
+    private static final String USAGE = "Usage: java main.Main [--group FILE | --pipe [--threads N] [FILE]]";
+
+    public static void main(String[] args) throws IOException {
+        // Bulk mode: java main.Main --group words.txt > classes.txt
+        if (args.length == 2 && args[0].equals("--group")) {
+            var out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+            AnagramGrouper.run(Path.of(args[1]), out, System.err);
+            return;
+        }
+        // Filter mode: java main.Main --pipe [--threads N] [pairs.tsv] > verdicts.txt
+        if (args.length > 0 && args[0].equals("--pipe")) {
+            int threads = 1;
+            String file = null;
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--threads") && i + 1 < args.length) {
+                    try {
+                        threads = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        System.err.println("Not a number: " + args[i]);
+                        System.err.println(USAGE);
+                        return;
+                    }
+                } else {
+                    file = args[i];
+                }
+            }
+            // Raw descriptors: System.in/out add buffering and locking we do not need
+            try (InputStream in = file == null ? new FileInputStream(FileDescriptor.in) : Files.newInputStream(Path.of(file))) {
+                var out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16);
+                PairPipeline.run(in, out, threads, System.err);
+            }
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         System.out.println("Enter first word/phrase:");
         String a = scanner.nextLine();
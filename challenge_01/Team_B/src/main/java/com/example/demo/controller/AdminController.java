@@ -0,0 +1,47 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.DictionaryStatsResponse;
+import com.example.demo.service.DictionarySnapshot;
+import com.example.demo.service.GameService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final GameService gameService;
+
+    @GetMapping(path = "/admin/dictionary", produces = {"application/json"})
+    public ResponseEntity<DictionaryStatsResponse> dictionaryStats() {
+        return ResponseEntity.ok(toStats(gameService.dictionary()));
+    }
+
+    // Rebuilt on the service's reload thread; the servlet thread is released until it completes
+    @PostMapping(path = "/admin/dictionary/reload", produces = {"application/json"})
+    public CompletableFuture<ResponseEntity<DictionaryStatsResponse>> reloadDictionary() {
+        log.info("Dictionary reload requested");
+        return gameService.reload().thenApply(snapshot -> ResponseEntity.ok(toStats(snapshot)));
+    }
+
+    private DictionaryStatsResponse toStats(DictionarySnapshot snapshot) {
+        var scramblePool = gameService.scramblePool();
+        return DictionaryStatsResponse.builder()
+                .words(snapshot.size())
+                .signatureGroups(snapshot.index().groupCount())
+                .maxLength(snapshot.maxLength())
+                .letterMaskBuckets(snapshot.subAnagramIndex().bucketCount())
+                .nearAnagramPostings(snapshot.nearAnagramIndex().indexedPostings())
+                .nearAnagramIndexBytes(snapshot.nearAnagramIndex().memoryBytes())
+                .nearAnagramIndexTruncated(snapshot.nearAnagramIndex().truncated())
+                .scramblePoolWords(scramblePool == null ? 0 : scramblePool.size())
+                .build();
+    }
+}
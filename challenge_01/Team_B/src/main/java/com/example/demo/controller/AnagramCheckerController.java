@@ -1,17 +1,41 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.GameSessionStatsResponse;
 import com.example.demo.dto.GameStartResponse;
+import com.example.demo.dto.GuessRequest;
+import com.example.demo.dto.GuessResponse;
 import com.example.demo.dto.AnagramCheckerRequest;
+import com.example.demo.dto.AnagramsResponse;
 import com.example.demo.dto.LoginResponse;
+import com.example.demo.dto.NearAnagramsResponse;
+import com.example.demo.dto.PhraseAnagramsResponse;
+import com.example.demo.dto.SubAnagramsResponse;
+import com.example.demo.service.AnagramMetrics;
 import com.example.demo.service.AnagramService;
+import com.example.demo.service.BatchAnagramService;
 import com.example.demo.service.GameService;
+import com.example.demo.service.GameSessionStore;
+import com.example.demo.service.PhraseAnagramSolver;
+import com.example.demo.service.ScramblePool;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @RestController
@@ -20,21 +44,136 @@ public class AnagramCheckerController {
 
     private final AnagramService anagramService;
     private final GameService gameService;
+    private final BatchAnagramService batchAnagramService;
+    private final GameSessionStore gameSessionStore;
+    private final PhraseAnagramSolver phraseAnagramSolver;
+    private final AnagramMetrics anagramMetrics;
+
+    @Value("${game.batch.timeout:1h}")
+    private Duration batchTimeout;
 
     @PostMapping(path = "/login", consumes = {"application/json"}, produces = {"application/json"})
     public ResponseEntity<LoginResponse> checkAnagram(@RequestBody AnagramCheckerRequest anagramCheckerRequest) {
-        var r = anagramService.isAnagram(anagramCheckerRequest);
+        var sample = anagramMetrics.start();
+        int inputLength = length(anagramCheckerRequest.getInput1()) + length(anagramCheckerRequest.getInput2());
+        boolean r;
+        try {
+            r = anagramService.isAnagram(anagramCheckerRequest);
+        } catch (RuntimeException e) {
+            anagramMetrics.checkFailed(sample, inputLength);
+            throw e;
+        }
+        anagramMetrics.checked(sample, r, inputLength);
         LoginResponse loginResponse = new LoginResponse();
         loginResponse.setMessage(r ? "Valid" : "Invalid");
         return ResponseEntity.ok(loginResponse);
     }
 
+    // One {"input1":..,"input2":..} object per line in, one {"message":..} line per pair out. The
+    // stream runs for as long as the client keeps sending pairs, up to its own timeout
+    @PostMapping(path = "/anagram/batch", consumes = {"application/x-ndjson"}, produces = {"application/x-ndjson"})
+    public WebAsyncTask<Void> checkAnagrams(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var in = request.getInputStream();
+        var out = response.getOutputStream();
+        // Set once the request is over for any reason, so the worker stops reading and writing
+        var cancelled = new AtomicBoolean();
+        var task = new WebAsyncTask<Void>(batchTimeout.toMillis(), batchAnagramService.executor(), () -> {
+            response.setContentType("application/x-ndjson");
+            long pairs = batchAnagramService.check(in, out, cancelled::get);
+            log.info("Batch anagram check finished: {} pairs", pairs);
+            return null;
+        });
+        // Once results have gone out the status is fixed; the stream just ends
+        task.onTimeout(() -> {
+            cancelled.set(true);
+            log.warn("Batch anagram check timed out after {}", batchTimeout);
+            if (!response.isCommitted()) response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return null;
+        });
+        task.onCompletion(() -> cancelled.set(true));
+        return task;
+    }
+
+    // Every batch thread is busy and the queue is full
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> batchesBusy() {
+        log.warn("Batch anagram check rejected: too many batches running");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    @GetMapping(path = "/anagram/words", produces = {"application/json"})
+    public ResponseEntity<AnagramsResponse> findAnagrams(@RequestParam String input) {
+        var anagrams = gameService.findAnagrams(input);
+        return ResponseEntity.ok(AnagramsResponse.builder().input(input).anagrams(anagrams).build());
+    }
+
+    // "Did you mean": words one letter added, removed or swapped away from the input's letters
+    @GetMapping(path = "/anagram/near", produces = {"application/json"})
+    public ResponseEntity<NearAnagramsResponse> nearAnagrams(@RequestParam String input,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        var suggestions = gameService.nearAnagrams(input, limit);
+        return ResponseEntity.ok(NearAnagramsResponse.builder().input(input).suggestions(suggestions).build());
+    }
+
+    @GetMapping(path = "/anagram/subwords", produces = {"application/json"})
+    public ResponseEntity<SubAnagramsResponse> wordsFromLetters(@RequestParam String letters,
+                                                                @RequestParam(defaultValue = "2") int minLength,
+                                                                @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 0) return ResponseEntity.badRequest().build();
+        var words = gameService.wordsFromLetters(letters, minLength, limit);
+        return ResponseEntity.ok(SubAnagramsResponse.builder().letters(letters).words(words).build());
+    }
+
+    @GetMapping(path = "/anagram/phrase", produces = {"application/json"})
+    public ResponseEntity<PhraseAnagramsResponse> solvePhrase(@RequestParam String text,
+                                                              @RequestParam(defaultValue = "3") int maxWords,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        var result = phraseAnagramSolver.solve(text, maxWords, limit);
+        return ResponseEntity.ok(PhraseAnagramsResponse.builder()
+                .phrase(text).anagrams(result.anagrams()).complete(result.complete()).build());
+    }
+
     @GetMapping(path = "/game/start", produces = {"application/json"})
-    public ResponseEntity<GameStartResponse> starGame() throws Exception {
+    public ResponseEntity<GameStartResponse> starGame(@RequestParam(defaultValue = "5") int minLength,
+                                                      @RequestParam(defaultValue = "6") int maxLength,
+                                                      @RequestParam(required = false) ScramblePool.Difficulty difficulty) {
+        // An inverted range, or one no dictionary word falls in, is the caller's mistake
+        if (minLength > maxLength || gameService.dictionary().countBetween(minLength, maxLength) == 0) {
+            return ResponseEntity.badRequest().build();
+        }
         log.info("Anagram checker started");
-        var word = gameService.getRandomWord(5,6);
-        var scramble = gameService.scramble(word);
-        return ResponseEntity.ok(GameStartResponse.builder().scrambled(scramble).length(scramble.length()).build());
+        var sample = anagramMetrics.start();
+        try {
+            var word = gameService.getPuzzleWord(minLength, maxLength, difficulty);
+            var scramble = gameService.scramble(word, anagramMetrics::scrambleRetried);
+            var session = gameService.startGame(word);
+            return ResponseEntity.ok(GameStartResponse.builder().gameId(session.id()).scrambled(scramble).length(scramble.length()).build());
+        } finally {
+            anagramMetrics.gameStarted(sample);
+        }
     }
 
+    @PostMapping(path = "/game/guess", consumes = {"application/json"}, produces = {"application/json"})
+    public ResponseEntity<GuessResponse> guess(@RequestBody GuessRequest guessRequest) {
+        return switch (gameService.guess(guessRequest.getGameId(), guessRequest.getGuess())) {
+            case CORRECT -> ResponseEntity.ok(GuessResponse.builder().correct(true).message("Correct").build());
+            case INCORRECT -> ResponseEntity.ok(GuessResponse.builder().correct(false).message("Try again").build());
+            case UNKNOWN_GAME -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(GuessResponse.builder().correct(false).message("Game not found or expired").build());
+        };
+    }
+
+    @GetMapping(path = "/game/sessions", produces = {"application/json"})
+    public ResponseEntity<GameSessionStatsResponse> sessionStats() {
+        return ResponseEntity.ok(GameSessionStatsResponse.builder()
+                .activeGames(gameSessionStore.size())
+                .hits(gameSessionStore.hits())
+                .misses(gameSessionStore.misses())
+                .evictions(gameSessionStore.evictions())
+                .build());
+    }
+
+    private static int length(String input) {
+        return input == null ? 0 : input.length();
+    }
 }
\ No newline at end of file
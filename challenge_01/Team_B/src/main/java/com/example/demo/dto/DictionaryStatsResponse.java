@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DictionaryStatsResponse {
+    private int words;
+    private int signatureGroups;
+    private int maxLength;
+    private int letterMaskBuckets;
+    private int nearAnagramPostings;
+    private long nearAnagramIndexBytes;
+    private boolean nearAnagramIndexTruncated;
+    private int scramblePoolWords;
+}
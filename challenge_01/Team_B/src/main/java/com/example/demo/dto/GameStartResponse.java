@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class GameStartResponse {
+    private String gameId;
     private String scrambled;
     private int length;
 }
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PhraseAnagramsResponse {
+    private String phrase;
+    private List<String> anagrams;
+    // false when the search stopped at the result limit or timeout
+    private boolean complete;
+}
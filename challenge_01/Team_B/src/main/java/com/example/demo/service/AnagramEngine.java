@@ -0,0 +1,114 @@
+package com.example.demo.service;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass anagram check over the normalized alphabet {@code [a-z0-9]}.
+ * Both inputs are folded and counted straight into a per-thread histogram,
+ * so a check allocates nothing and bails out on the first surplus character.
+ */
+public final class AnagramEngine {
+    static final int ALPHABET = 36;
+
+    // Histogram slot for each ASCII char, -1 for anything normalization strips
+    private static final byte[] ASCII_SLOT = new byte[128];
+    // Canonical character for each slot, in signature order
+    private static final char[] SLOT_CHAR = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+    private static final ThreadLocal<int[]> HISTOGRAM = ThreadLocal.withInitial(() -> new int[ALPHABET]);
+
+    static {
+        Arrays.fill(ASCII_SLOT, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            ASCII_SLOT['a' + i] = (byte) i;
+            ASCII_SLOT['A' + i] = (byte) i;
+        }
+        for (int i = 0; i < 10; i++) {
+            ASCII_SLOT['0' + i] = (byte) (26 + i);
+        }
+    }
+
+    private AnagramEngine() {}
+
+    public static boolean isAnagram(CharSequence a, CharSequence b) {
+        if (a == null) a = "";
+        if (b == null) b = "";
+        int[] counts = HISTOGRAM.get();
+        try {
+            int remaining = 0;
+            for (int i = 0, n = a.length(); i < n; i++) {
+                char c = a.charAt(i);
+                int slot = c < 128 ? ASCII_SLOT[c] : foldSlot(a, i);
+                if (slot >= 0) {
+                    counts[slot]++;
+                    remaining++;
+                }
+                if (Character.isHighSurrogate(c)) i++;
+            }
+            for (int i = 0, n = b.length(); i < n; i++) {
+                char c = b.charAt(i);
+                int slot = c < 128 ? ASCII_SLOT[c] : foldSlot(b, i);
+                if (slot >= 0) {
+                    // b has more of this character than a: no need to look further
+                    if (--counts[slot] < 0) return false;
+                    remaining--;
+                }
+                if (Character.isHighSurrogate(c)) i++;
+            }
+            return remaining == 0;
+        } finally {
+            Arrays.fill(counts, 0);
+        }
+    }
+
+    /**
+     * Canonical letter signature: the normalized characters in sorted order,
+     * so two inputs are anagrams exactly when their signatures are equal.
+     */
+    public static String signature(CharSequence s) {
+        if (s == null) return "";
+        int[] counts = HISTOGRAM.get();
+        try {
+            int length = countInto(s, counts);
+            // Counting sort straight out of the histogram
+            char[] sorted = new char[length];
+            int pos = 0;
+            for (int slot = 0; slot < ALPHABET; slot++) {
+                char c = SLOT_CHAR[slot];
+                for (int k = counts[slot]; k > 0; k--) sorted[pos++] = c;
+            }
+            return new String(sorted);
+        } finally {
+            Arrays.fill(counts, 0);
+        }
+    }
+
+    /**
+     * Adds the normalized characters of {@code s} to {@code counts} (indexed by
+     * {@link #slotOf(char)}) and returns how many there were.
+     */
+    public static int countInto(CharSequence s, int[] counts) {
+        int length = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            int slot = c < 128 ? ASCII_SLOT[c] : foldSlot(s, i);
+            if (slot >= 0) {
+                counts[slot]++;
+                length++;
+            }
+            if (Character.isHighSurrogate(c)) i++;
+        }
+        return length;
+    }
+
+    /** Histogram slot of an already normalized signature character. */
+    public static int slotOf(char c) {
+        return c < 128 ? ASCII_SLOT[c] : -1;
+    }
+
+    // Code-point fallback: a few non-ASCII letters lower-case into [a-z]
+    // (KELVIN SIGN -> k, dotted capital I -> i), everything else is stripped
+    static int foldSlot(CharSequence s, int i) {
+        int lower = Character.toLowerCase(Character.codePointAt(s, i));
+        return lower < 128 ? ASCII_SLOT[lower] : -1;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable dictionary index from letter signature to the words sharing it.
+ * <p>
+ * Words are stored once, grouped by signature in a single array, and groups are
+ * found through an open-addressing table of ints, so the per-word overhead is
+ * one array slot rather than a map entry and list node. Lookups are O(1) on
+ * average plus the cost of computing the signature.
+ */
+public final class AnagramIndex {
+    private final String[] words;
+    private final int[] groupStart;
+    private final String[] signatures;
+    private final int[] table; // group id + 1, 0 marks an empty slot
+    private final int mask;
+
+    private AnagramIndex(String[] words, int[] groupStart, String[] signatures) {
+        this.words = words;
+        this.groupStart = groupStart;
+        this.signatures = signatures;
+        int capacity = Integer.highestOneBit(Math.max(2, signatures.length * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        for (int g = 0; g < signatures.length; g++) {
+            int slot = hash(signatures[g]) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = g + 1;
+        }
+    }
+
+    /**
+     * Builds an index over the given words. Entries are trimmed and lower-cased,
+     * duplicates and entries without any letters or digits are dropped.
+     */
+    public static AnagramIndex build(Collection<String> dictionary) {
+        List<String[]> entries = new ArrayList<>(dictionary.size());
+        for (String raw : dictionary) {
+            String word = raw.trim().toLowerCase();
+            String signature = AnagramEngine.signature(word);
+            if (!signature.isEmpty()) entries.add(new String[]{signature, word});
+        }
+        String[][] sorted = entries.toArray(new String[0][]);
+        Arrays.parallelSort(sorted, Comparator.<String[], String>comparing(e -> e[0]).thenComparing(e -> e[1]));
+
+        String[] words = new String[sorted.length];
+        int[] groupStart = new int[sorted.length + 1];
+        String[] signatures = new String[sorted.length];
+        int count = 0;
+        int groups = 0;
+        for (String[] entry : sorted) {
+            if (count > 0 && entry[1].equals(words[count - 1])) continue;
+            if (groups == 0 || !entry[0].equals(signatures[groups - 1])) {
+                signatures[groups] = entry[0];
+                groupStart[groups++] = count;
+            }
+            words[count++] = entry[1];
+        }
+        groupStart[groups] = count;
+        return new AnagramIndex(Arrays.copyOf(words, count), Arrays.copyOf(groupStart, groups + 1),
+                Arrays.copyOf(signatures, groups));
+    }
+
+    /** Dictionary words that are anagrams of the input, including the input itself if listed. */
+    public List<String> anagramsOf(CharSequence input) {
+        return wordsFor(AnagramEngine.signature(input));
+    }
+
+    /** Dictionary words whose signature is exactly the given one. */
+    public List<String> wordsFor(String signature) {
+        int group = groupOf(signature);
+        return group < 0 ? Collections.emptyList() : groupWords(group);
+    }
+
+    /** Words of a signature group; groups are numbered {@code 0..groupCount()-1} in signature order. */
+    public List<String> groupWords(int group) {
+        return Collections.unmodifiableList(Arrays.asList(words).subList(groupStart[group], groupStart[group + 1]));
+    }
+
+    public String groupSignature(int group) {
+        return signatures[group];
+    }
+
+    public int groupSize(int group) {
+        return groupStart[group + 1] - groupStart[group];
+    }
+
+    public boolean contains(String word) {
+        String lower = word.trim().toLowerCase();
+        int group = groupOf(AnagramEngine.signature(lower));
+        if (group < 0) return false;
+        for (int i = groupStart[group]; i < groupStart[group + 1]; i++) {
+            if (words[i].equals(lower)) return true;
+        }
+        return false;
+    }
+
+    String wordAt(int i) {
+        return words[i];
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public int groupCount() {
+        return signatures.length;
+    }
+
+    /** Group id of a signature, or -1 if no dictionary word has it. */
+    public int groupOf(String signature) {
+        int slot = hash(signature) & mask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (signatures[entry - 1].equals(signature)) return entry - 1;
+        }
+        return -1;
+    }
+
+    private static int hash(String signature) {
+        int h = signature.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
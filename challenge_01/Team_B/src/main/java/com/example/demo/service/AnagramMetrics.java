@@ -0,0 +1,149 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Service-level meters for the anagram check and game start endpoints, plus gauges
+ * over the loaded dictionary. Timers and summaries publish percentile histograms so
+ * Prometheus can compute tail latency per input size; whole-request latency,
+ * including serialization and filters, comes from Actuator's http.server.requests.
+ */
+@Component
+public class AnagramMetrics {
+    // Per-thread allocation counter; null when the JVM doesn't provide one
+    private static final com.sun.management.ThreadMXBean THREADS = threadAllocation();
+
+    private final Timer checkValid;
+    private final Timer checkInvalid;
+    private final Timer checkFailed;
+    private final Timer gameStart;
+    private final DistributionSummary checkInputLength;
+    private final DistributionSummary checkAllocated;
+    private final DistributionSummary gameStartAllocated;
+    private final Counter scrambleRetries;
+
+    /** Start time and allocated bytes of the calling thread when a request began. */
+    public record Sample(long startNanos, long startAllocated) {}
+
+    public AnagramMetrics(MeterRegistry registry, GameService gameService) {
+        checkValid = checkTimer("valid", registry);
+        checkInvalid = checkTimer("invalid", registry);
+        checkFailed = checkTimer("error", registry);
+        gameStart = Timer.builder("game.start")
+                .description("Time to pick, scramble and register a puzzle")
+                .publishPercentileHistogram()
+                .register(registry);
+        checkInputLength = DistributionSummary.builder("anagram.check.input.length")
+                .description("Combined length of both inputs of an anagram check")
+                .baseUnit("chars")
+                .publishPercentileHistogram()
+                .register(registry);
+        checkAllocated = allocated("anagram.check", registry);
+        gameStartAllocated = allocated("game.start", registry);
+
+        dictionaryGauge("dictionary.words", "Words in the loaded dictionary",
+                gameService, s -> s.size(), registry);
+        dictionaryGauge("dictionary.signature.groups", "Distinct letter signatures",
+                gameService, s -> s.index().groupCount(), registry);
+        dictionaryGauge("dictionary.length.buckets", "Distinct word lengths",
+                gameService, s -> s.lengthBucketCount(), registry);
+        dictionaryGauge("dictionary.letter.mask.buckets", "Distinct letter sets in the sub-anagram index",
+                gameService, s -> s.subAnagramIndex().bucketCount(), registry);
+        dictionaryGauge("dictionary.near.anagram.postings", "Entries in the near-anagram index",
+                gameService, s -> s.nearAnagramIndex().indexedPostings(), registry);
+        for (ScramblePool.Difficulty difficulty : ScramblePool.Difficulty.values()) {
+            Gauge.builder("game.scramble.pool.words", gameService, gs -> {
+                        ScramblePool pool = gs.scramblePool();
+                        return pool == null ? 0 : pool.size(difficulty);
+                    })
+                    .description("Single-answer words available for new games")
+                    .tag("difficulty", difficulty.name().toLowerCase())
+                    .register(registry);
+        }
+        scrambleRetries = Counter.builder("game.scramble.retries")
+                .description("Shuffles that came back unchanged and needed an extra swap")
+                .register(registry);
+    }
+
+    public Sample start() {
+        return new Sample(System.nanoTime(), allocatedBytes());
+    }
+
+    public void checked(Sample sample, boolean valid, int inputLength) {
+        recordCheck(sample, valid ? checkValid : checkInvalid, inputLength);
+    }
+
+    /** A check that threw; recorded under outcome "error" so failures still show in the latency. */
+    public void checkFailed(Sample sample, int inputLength) {
+        recordCheck(sample, checkFailed, inputLength);
+    }
+
+    public void scrambleRetried() {
+        scrambleRetries.increment();
+    }
+
+    private void recordCheck(Sample sample, Timer timer, int inputLength) {
+        timer.record(System.nanoTime() - sample.startNanos(), TimeUnit.NANOSECONDS);
+        checkInputLength.record(inputLength);
+        recordAllocated(sample, checkAllocated);
+    }
+
+    public void gameStarted(Sample sample) {
+        gameStart.record(System.nanoTime() - sample.startNanos(), TimeUnit.NANOSECONDS);
+        recordAllocated(sample, gameStartAllocated);
+    }
+
+    private static void recordAllocated(Sample sample, DistributionSummary summary) {
+        if (sample.startAllocated() < 0) return;
+        long allocated = allocatedBytes();
+        if (allocated >= 0) summary.record(allocated - sample.startAllocated());
+    }
+
+    private static Timer checkTimer(String outcome, MeterRegistry registry) {
+        return Timer.builder("anagram.check")
+                .description("Time to check whether two inputs are anagrams")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary allocated(String endpoint, MeterRegistry registry) {
+        return DistributionSummary.builder(endpoint + ".allocated")
+                .description("Bytes allocated by the request thread")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // Reads through the service on every scrape, so a dictionary reload shows up without re-registering
+    private static void dictionaryGauge(String name, String description, GameService gameService,
+                                        ToDoubleFunction<DictionarySnapshot> value, MeterRegistry registry) {
+        Gauge.builder(name, gameService, gs -> {
+                    DictionarySnapshot snapshot = gs.dictionary();
+                    return snapshot == null ? 0 : value.applyAsDouble(snapshot);
+                })
+                .description(description)
+                .register(registry);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadAllocation() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AnagramCheckerRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Checks a stream of newline-delimited {@link AnagramCheckerRequest} pairs and writes
+ * one result line per pair, in input order. Pairs are read in fixed-size chunks and
+ * each chunk is checked in parallel while the next one is being parsed, so at most
+ * two chunks are held in memory regardless of the body size.
+ * <p>
+ * A batch can stream for a long time, so requests run on their own small executor
+ * rather than the shared async one, and stop between pairs once cancelled.
+ */
+@Slf4j
+@Service
+public class BatchAnagramService {
+    static final int CHUNK_SIZE = 8192;
+
+    private static final byte[] VALID = "{\"message\":\"Valid\"}\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INVALID = "{\"message\":\"Invalid\"}\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    // Runs whole batch requests; a full queue rejects new ones instead of tying up more threads
+    private final ThreadPoolExecutor requests;
+    private final AsyncTaskExecutor requestExecutor;
+
+    public BatchAnagramService(ObjectMapper objectMapper,
+                               @Value("${game.batch.max-concurrent:4}") int maxConcurrent,
+                               @Value("${game.batch.max-queued:16}") int maxQueued) {
+        this.objectMapper = objectMapper;
+        AtomicInteger threads = new AtomicInteger();
+        this.requests = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), r -> {
+                    Thread t = new Thread(r, "anagram-batch-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.requestExecutor = new TaskExecutorAdapter(requests);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requests.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /** The executor batch requests run on, bounded by game.batch.max-concurrent and max-queued. */
+    public AsyncTaskExecutor executor() {
+        return requestExecutor;
+    }
+
+    /** Returns the number of pairs checked. */
+    public long check(InputStream in, OutputStream out) throws IOException {
+        return check(in, out, () -> false);
+    }
+
+    /**
+     * As {@link #check(InputStream, OutputStream)}, but stops reading once {@code cancelled}
+     * returns true or the thread is interrupted; pairs already read are still answered.
+     */
+    public long check(InputStream in, OutputStream out, BooleanSupplier cancelled) throws IOException {
+        BooleanSupplier stop = () -> cancelled.getAsBoolean() || Thread.currentThread().isInterrupted();
+        BufferedOutputStream writer = new BufferedOutputStream(out, 1 << 16);
+        Chunk current = new Chunk();
+        Chunk next = new Chunk();
+        long total = 0;
+        try (MappingIterator<AnagramCheckerRequest> pairs =
+                     objectMapper.readerFor(AnagramCheckerRequest.class).readValues(in)) {
+            String error = current.fill(pairs, stop);
+            while (current.size > 0) {
+                ForkJoinTask<?> checking = pool.submit(current::check);
+                if (error == null) error = next.fill(pairs, stop);
+                else next.size = 0;
+                checking.join();
+                current.writeTo(writer);
+                writer.flush();
+                total += current.size;
+
+                Chunk done = current;
+                current = next;
+                next = done;
+            }
+            if (stop.getAsBoolean()) {
+                log.warn("Batch cancelled after {} pairs", total);
+                return total;
+            }
+            if (error != null) {
+                log.warn("Batch stopped after {} pairs: {}", total, error);
+                writer.write(objectMapper.writeValueAsBytes(new ErrorLine("Malformed input after " + total + " pairs")));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        return total;
+    }
+
+    private record ErrorLine(String error) {}
+
+    private static final class Chunk {
+        final String[] input1 = new String[CHUNK_SIZE];
+        final String[] input2 = new String[CHUNK_SIZE];
+        final boolean[] valid = new boolean[CHUNK_SIZE];
+        int size;
+
+        // Reads up to CHUNK_SIZE pairs, fewer once stopped; returns a message if the stream is malformed
+        String fill(MappingIterator<AnagramCheckerRequest> pairs, BooleanSupplier stop) {
+            size = 0;
+            try {
+                while (size < CHUNK_SIZE && !stop.getAsBoolean() && pairs.hasNextValue()) {
+                    AnagramCheckerRequest pair = pairs.nextValue();
+                    input1[size] = pair.getInput1();
+                    input2[size] = pair.getInput2();
+                    size++;
+                }
+                return null;
+            } catch (JsonProcessingException e) {
+                return e.getOriginalMessage();
+            } catch (IOException e) {
+                return e.getMessage();
+            }
+        }
+
+        void check() {
+            IntStream.range(0, size).parallel()
+                    .forEach(i -> valid[i] = AnagramEngine.isAnagram(input1[i], input2[i]));
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            for (int i = 0; i < size; i++) {
+                out.write(valid[i] ? VALID : INVALID);
+            }
+        }
+    }
+}
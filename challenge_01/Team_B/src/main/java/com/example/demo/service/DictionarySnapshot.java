@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Immutable view of the loaded word list: the signature, sub-anagram and
+ * near-anagram indexes plus the same words bucketed by length.
+ */
+public final class DictionarySnapshot {
+    private final AnagramIndex index;
+    private final SubAnagramIndex subAnagramIndex;
+    private final NearAnagramIndex nearAnagramIndex;
+    private final LengthBuckets lengthBuckets;
+
+    private DictionarySnapshot(AnagramIndex index, SubAnagramIndex subAnagramIndex,
+                               NearAnagramIndex nearAnagramIndex, LengthBuckets lengthBuckets) {
+        this.index = index;
+        this.subAnagramIndex = subAnagramIndex;
+        this.nearAnagramIndex = nearAnagramIndex;
+        this.lengthBuckets = lengthBuckets;
+    }
+
+    public static DictionarySnapshot of(Collection<String> words) {
+        return of(words, Integer.MAX_VALUE);
+    }
+
+    /** {@code maxNearPostings} caps the size of the near-anagram index. */
+    public static DictionarySnapshot of(Collection<String> words, int maxNearPostings) {
+        AnagramIndex index = AnagramIndex.build(words);
+        String[] all = new String[index.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = index.wordAt(i);
+        }
+        return new DictionarySnapshot(index, SubAnagramIndex.build(index),
+                NearAnagramIndex.build(index, maxNearPostings), LengthBuckets.of(List.of(all)));
+    }
+
+    public String randomWord(int minLen, int maxLen, Random rnd) {
+        return lengthBuckets.randomWord(minLen, maxLen, rnd);
+    }
+
+    public int countBetween(int minLen, int maxLen) {
+        return lengthBuckets.countBetween(minLen, maxLen);
+    }
+
+    public AnagramIndex index() {
+        return index;
+    }
+
+    public SubAnagramIndex subAnagramIndex() {
+        return subAnagramIndex;
+    }
+
+    public NearAnagramIndex nearAnagramIndex() {
+        return nearAnagramIndex;
+    }
+
+    public int size() {
+        return lengthBuckets.size();
+    }
+
+    public int maxLength() {
+        return lengthBuckets.maxLength();
+    }
+
+    public int lengthBucketCount() {
+        return lengthBuckets.bucketCount();
+    }
+}
@@ -1,56 +1,170 @@
 package com.example.demo.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 @Slf4j
 @Service
 public class GameService {
-    private final List<String> words = new ArrayList<>();
-    private final Random rnd = new Random();
+    private final Resource wordsResource;
+    private final int maxNearPostings;
+    private final GameSessionStore sessionStore;
+    private final AtomicReference<DictionarySnapshot> dictionary = new AtomicReference<>();
+    private final AtomicReference<ScramblePool> scramblePool = new AtomicReference<>();
+    // One thread, so overlapping reload requests rebuild one after another
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "dictionary-reload");
+        t.setDaemon(true);
+        return t;
+    });
 
-    public void load() throws Exception {
+    public enum GuessResult { CORRECT, INCORRECT, UNKNOWN_GAME }
 
-        try(InputStream in = getClass().getResourceAsStream("/words.txt")){
-            if (in == null) throw new RuntimeException("words.txt not found");
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(in))){
-                br.lines().map(String::trim).filter(s -> !s.isEmpty()).forEach(words::add);
+    public GameService(@Value("${game.words:classpath:words.txt}") Resource wordsResource,
+                       @Value("${game.near-anagrams.max-postings:50000000}") int maxNearPostings,
+                       GameSessionStore sessionStore) {
+        this.wordsResource = wordsResource;
+        this.maxNearPostings = maxNearPostings;
+        this.sessionStore = sessionStore;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        DictionarySnapshot snapshot = load();
+        dictionary.set(snapshot);
+        // Games fall back to the whole dictionary until the pool is ready
+        reloadExecutor.execute(() -> scramblePool.set(buildPool(snapshot)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    /**
+     * Rebuilds the dictionary and scramble pool from the words resource on a background
+     * thread and swaps them in once complete. Requests keep using the previous ones meanwhile.
+     */
+    public CompletableFuture<DictionarySnapshot> reload() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                DictionarySnapshot snapshot = load();
+                ScramblePool pool = buildPool(snapshot);
+                dictionary.set(snapshot);
+                scramblePool.set(pool);
+                return snapshot;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }, reloadExecutor);
+    }
+
+    public DictionarySnapshot dictionary() {
+        return dictionary.get();
+    }
+
+    private DictionarySnapshot load() throws IOException {
+        List<String> words = new ArrayList<>();
+        try (InputStream in = wordsResource.getInputStream();
+             BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            br.lines().map(String::trim).filter(s -> !s.isEmpty()).forEach(words::add);
         }
         if (words.isEmpty()) throw new RuntimeException("words list empty");
+        DictionarySnapshot snapshot = DictionarySnapshot.of(words, maxNearPostings);
+        log.info("Dictionary loaded: {} words in {} signature groups", snapshot.size(), snapshot.index().groupCount());
+        var near = snapshot.nearAnagramIndex();
+        if (near.truncated()) {
+            log.warn("Near-anagram index capped at {} postings; some words get no suggestions", near.indexedPostings());
+        }
+        return snapshot;
     }
 
-    public String getRandomWord(int minLen, int maxLen) throws Exception {
-        load();
-        List<String> filtered = new ArrayList<>();
-        for(String word : words){
-            if(word.length() >= minLen && word.length() <= maxLen)
-                filtered.add(word);
-        }
-        return filtered.get(rnd.nextInt(filtered.size()));
+    private static ScramblePool buildPool(DictionarySnapshot snapshot) {
+        ScramblePool pool = ScramblePool.build(snapshot.index());
+        log.info("Scramble pool built: {} single-answer words ({} easy, {} medium, {} hard)", pool.size(),
+                pool.size(ScramblePool.Difficulty.EASY), pool.size(ScramblePool.Difficulty.MEDIUM),
+                pool.size(ScramblePool.Difficulty.HARD));
+        return pool;
+    }
+
+    public ScramblePool scramblePool() {
+        return scramblePool.get();
+    }
+
+    /**
+     * Picks a word whose scramble has exactly one answer, from the precomputed pool.
+     * Falls back to any dictionary word in range while the pool is still being built,
+     * or when it has nothing matching.
+     */
+    public String getPuzzleWord(int minLen, int maxLen, ScramblePool.Difficulty difficulty) {
+        ScramblePool pool = scramblePool.get();
+        String word = pool == null ? null : pool.randomWord(minLen, maxLen, difficulty, ThreadLocalRandom.current());
+        return word != null ? word : getRandomWord(minLen, maxLen);
+    }
+
+    public String getRandomWord(int minLen, int maxLen) {
+        return dictionary.get().randomWord(minLen, maxLen, ThreadLocalRandom.current());
     }
 
     public String scramble(String word) {
-        List<Character> c = new ArrayList<>();
-        for(char ch : word.toCharArray()) c.add(ch);
-        Collections.shuffle(c);
-        StringBuilder sb = new StringBuilder();
-        for(char ch : c) sb.append(ch);
+        return WordScrambler.scramble(word);
+    }
+
+    public String scramble(String word, Runnable onRetry) {
+        return WordScrambler.scramble(word, onRetry);
+    }
+
+    public GameSessionStore.GameSession startGame(String word) {
+        return sessionStore.start(word);
+    }
+
+    /**
+     * Any dictionary word with the same letters as the hidden word counts as solving
+     * the game, which then ends; a wrong guess leaves the game open.
+     */
+    public GuessResult guess(String gameId, String guess) {
+        var session = sessionStore.get(gameId);
+        if (session == null) return GuessResult.UNKNOWN_GAME;
+        boolean sameLetters = guess != null && session.signature().equals(AnagramEngine.signature(guess));
+        if (!sameLetters || !(session.word().equalsIgnoreCase(guess.trim()) || inValidWord(guess))) {
+            return GuessResult.INCORRECT;
+        }
+        sessionStore.remove(session);
+        return GuessResult.CORRECT;
+    }
+
+    public List<String> findAnagrams(String input) {
+        return dictionary.get().index().anagramsOf(input);
+    }
+
+    public List<String> wordsFromLetters(String letters, int minLength, int limit) {
+        return dictionary.get().subAnagramIndex().wordsFrom(letters, minLength, limit);
+    }
 
-        if(sb.toString().equals(word)) return scramble(word);
-        return sb.toString();
+    public List<String> nearAnagrams(String guess, int limit) {
+        return dictionary.get().nearAnagramIndex().nearAnagramsOf(guess, limit);
     }
 
     public boolean inValidWord(String word) {
-        return words.contains(word.toLowerCase());
+        return dictionary.get().index().contains(word);
     }
-}
\ No newline at end of file
+}
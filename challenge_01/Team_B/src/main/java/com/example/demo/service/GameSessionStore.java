@@ -0,0 +1,138 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, expire-after-write store of running games keyed by game id.
+ * <p>
+ * Every session lives for the same TTL, so creation order is also expiry order:
+ * a FIFO queue alongside the map lets each insert evict expired or surplus
+ * sessions from the head in amortized O(1), with no sweeper thread. Live
+ * sessions are never evicted while the store is within its bound.
+ */
+@Component
+public class GameSessionStore {
+
+    public record GameSession(String id, String word, String signature, long expiresAtNanos) {}
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Queue<GameSession> creationOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public GameSessionStore(@Value("${game.sessions.ttl:30m}") Duration ttl,
+                            @Value("${game.sessions.max-size:500000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public GameSession start(String word) {
+        var session = new GameSession(UUID.randomUUID().toString(), word, AnagramEngine.signature(word),
+                System.nanoTime() + ttlNanos);
+        sessions.put(session.id(), session);
+        size.incrementAndGet();
+        creationOrder.add(session);
+        queued.incrementAndGet();
+        evict();
+        return session;
+    }
+
+    /** Returns the live session for the id, or null if it never existed or has expired. */
+    public GameSession get(String id) {
+        var session = id == null ? null : sessions.get(id);
+        if (session != null && session.expiresAtNanos() - System.nanoTime() < 0) {
+            if (remove(session)) evictions.increment();
+            session = null;
+        }
+        if (session == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return session;
+    }
+
+    public boolean remove(GameSession session) {
+        if (sessions.remove(session.id(), session)) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    // Pops expired, finished or surplus sessions off the head. A live session is only
+    // evicted when the store is over its bound.
+    private void evict() {
+        long now = System.nanoTime();
+        GameSession head;
+        while ((head = creationOrder.peek()) != null && !keeps(head, now)) {
+            var oldest = creationOrder.poll();
+            if (oldest == null) break;
+            if (oldest != head && keeps(oldest, now)) {
+                // Another thread popped the head first, so this live one came off in its place:
+                // back to the tail, where get() still expires it on time
+                creationOrder.add(oldest);
+                break;
+            }
+            queued.decrementAndGet();
+            if (remove(oldest)) evictions.increment();
+        }
+        if (queued.get() > 2 * maxSize) sweep(now);
+    }
+
+    // A live, unexpired session stays put while the store is within its bound
+    private boolean keeps(GameSession session, long now) {
+        return sessions.get(session.id()) == session && session.expiresAtNanos() - now >= 0 && size.get() <= maxSize;
+    }
+
+    // Queue entries of finished games are left behind as tombstones and can pile up behind a
+    // live head. Once the queue holds twice the session bound they are swept out, along with
+    // expired sessions, which keeps inserts amortized O(1).
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            creationOrder.removeIf(session -> {
+                if (sessions.get(session.id()) != session) return true;
+                if (session.expiresAtNanos() - now >= 0) return false;
+                if (remove(session)) evictions.increment();
+                return true;
+            });
+            queued.set(creationOrder.size());
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
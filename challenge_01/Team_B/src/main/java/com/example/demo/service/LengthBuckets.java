@@ -0,0 +1,80 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Immutable words bucketed by length. Buckets live back to back in one array and
+ * {@code lengthStart[n]} counts the words shorter than {@code n}, so any
+ * {@code [minLen, maxLen]} range is a contiguous slice found in O(1).
+ */
+public final class LengthBuckets {
+    private final String[] byLength;
+    private final int[] lengthStart;
+
+    private LengthBuckets(String[] byLength, int[] lengthStart) {
+        this.byLength = byLength;
+        this.lengthStart = lengthStart;
+    }
+
+    public static LengthBuckets of(List<String> words) {
+        int maxLength = 0;
+        for (String word : words) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+        // Counting sort by length: count, prefix-sum, then place
+        int[] lengthStart = new int[maxLength + 2];
+        for (String word : words) {
+            lengthStart[word.length() + 1]++;
+        }
+        for (int len = 1; len < lengthStart.length; len++) {
+            lengthStart[len] += lengthStart[len - 1];
+        }
+        int[] next = lengthStart.clone();
+        String[] byLength = new String[words.size()];
+        for (String word : words) {
+            byLength[next[word.length()]++] = word;
+        }
+        return new LengthBuckets(byLength, lengthStart);
+    }
+
+    public String randomWord(int minLen, int maxLen, Random rnd) {
+        int from = start(minLen);
+        int to = end(maxLen);
+        if (from >= to) {
+            throw new IllegalArgumentException("No words between " + minLen + " and " + maxLen + " letters");
+        }
+        return byLength[from + rnd.nextInt(to - from)];
+    }
+
+    public int countBetween(int minLen, int maxLen) {
+        return Math.max(0, end(maxLen) - start(minLen));
+    }
+
+    public int size() {
+        return byLength.length;
+    }
+
+    public int maxLength() {
+        return lengthStart.length - 2;
+    }
+
+    /** Number of distinct lengths that have at least one word. */
+    public int bucketCount() {
+        int buckets = 0;
+        for (int len = 0; len < lengthStart.length - 1; len++) {
+            if (lengthStart[len + 1] > lengthStart[len]) buckets++;
+        }
+        return buckets;
+    }
+
+    private int start(int length) {
+        if (length <= 0) return 0;
+        return lengthStart[Math.min(length, lengthStart.length - 1)];
+    }
+
+    // Just past the words of at most maxLen letters; maxLen + 1 would overflow at Integer.MAX_VALUE
+    private int end(int maxLen) {
+        return maxLen >= maxLength() ? byLength.length : start(maxLen + 1);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Finds dictionary words whose letters are one edit away from a guess's letters:
+ * one letter more, one letter fewer, or one letter swapped for another.
+ * <p>
+ * Every signature group is filed under each of its one-letter deletions. Keys are
+ * 64-bit hashes of those deleted signatures in an open-addressing table pointing
+ * into one flat postings array, so no key strings are kept; hash collisions are
+ * weeded out by checking the real signatures at query time. A query probes the
+ * table once plus twice per distinct letter of the guess, whatever the dictionary
+ * size. Total postings can be capped, in which case the groups left over are not
+ * indexed and {@link #truncated()} says so.
+ */
+public final class NearAnagramIndex {
+    private final AnagramIndex index;
+    private final long[] keys; // 0 marks an empty slot
+    private final int[] postingStart; // postings of slot s are [postingStart[s], postingStart[s + 1])
+    private final int[] postings;
+    private final int mask;
+    private final boolean truncated;
+
+    private NearAnagramIndex(AnagramIndex index, long[] keys, int[] postingStart, int[] postings,
+                             boolean truncated) {
+        this.index = index;
+        this.keys = keys;
+        this.postingStart = postingStart;
+        this.postings = postings;
+        this.mask = keys.length - 1;
+        this.truncated = truncated;
+    }
+
+    public static NearAnagramIndex build(AnagramIndex index, int maxPostings) {
+        // Pass 1: how many groups fit under the cap, and how many postings they need
+        int indexedGroups = 0;
+        long total = 0;
+        for (; indexedGroups < index.groupCount(); indexedGroups++) {
+            int deletions = distinctLetters(index.groupSignature(indexedGroups));
+            if (total + deletions > maxPostings) break;
+            total += deletions;
+        }
+        int capacity = Integer.highestOneBit((int) Math.max(2, total * 2 - 1)) << 1;
+        long[] keys = new long[capacity];
+        int[] counts = new int[capacity];
+        for (int g = 0; g < indexedGroups; g++) {
+            String signature = index.groupSignature(g);
+            for (int i = 0; i < signature.length(); i++) {
+                if (i > 0 && signature.charAt(i) == signature.charAt(i - 1)) continue;
+                counts[insert(keys, hash(signature, i))]++;
+            }
+        }
+        // Pass 2: lay postings out in slot order; counts becomes each slot's fill cursor
+        int[] postingStart = new int[capacity + 1];
+        for (int slot = 0; slot < capacity; slot++) {
+            postingStart[slot + 1] = postingStart[slot] + counts[slot];
+            counts[slot] = postingStart[slot];
+        }
+        int[] postings = new int[(int) total];
+        for (int g = 0; g < indexedGroups; g++) {
+            String signature = index.groupSignature(g);
+            for (int i = 0; i < signature.length(); i++) {
+                if (i > 0 && signature.charAt(i) == signature.charAt(i - 1)) continue;
+                postings[counts[insert(keys, hash(signature, i))]++] = g;
+            }
+        }
+        return new NearAnagramIndex(index, keys, postingStart, postings, indexedGroups < index.groupCount());
+    }
+
+    /** Words one letter away from the guess, never including exact anagrams of it. */
+    public List<String> nearAnagramsOf(String guess, int limit) {
+        String query = AnagramEngine.signature(guess);
+        BitSet seen = new BitSet();
+        List<String> found = new ArrayList<>();
+        if (query.isEmpty()) return found;
+        // Exact anagrams are the game's answer, not a near miss
+        int exact = index.groupOf(query);
+        if (exact >= 0) seen.set(exact);
+
+        // One letter more: groups filed under the query itself
+        collect(hash(query, -1), query, seen, found, limit);
+        for (int i = 0; i < query.length(); i++) {
+            if (i > 0 && query.charAt(i) == query.charAt(i - 1)) continue;
+            String deleted = query.substring(0, i) + query.substring(i + 1);
+            // One letter fewer: the deleted signature is a dictionary group
+            int group = index.groupOf(deleted);
+            if (group >= 0) add(group, seen, found, limit);
+            // One letter swapped: groups sharing this deletion, other than the query's own
+            collect(hash(query, i), deleted, seen, found, limit);
+        }
+        return found;
+    }
+
+    public int indexedPostings() {
+        return postings.length;
+    }
+
+    public boolean truncated() {
+        return truncated;
+    }
+
+    /** Bytes held by the index arrays, not counting the {@link AnagramIndex} it refers to. */
+    public long memoryBytes() {
+        return (long) keys.length * Long.BYTES + (long) postingStart.length * Integer.BYTES
+                + (long) postings.length * Integer.BYTES;
+    }
+
+    // Postings under the key whose signature, with one letter removed, really is `shorter`
+    private void collect(long key, String shorter, BitSet seen, List<String> found, int limit) {
+        int slot = find(key);
+        if (slot < 0) return;
+        for (int p = postingStart[slot]; p < postingStart[slot + 1] && found.size() < limit; p++) {
+            int group = postings[p];
+            if (!seen.get(group) && oneLetterMore(index.groupSignature(group), shorter)) add(group, seen, found, limit);
+        }
+    }
+
+    private void add(int group, BitSet seen, List<String> found, int limit) {
+        if (seen.get(group)) return;
+        seen.set(group);
+        for (String word : index.groupWords(group)) {
+            if (found.size() >= limit) return;
+            found.add(word);
+        }
+    }
+
+    private int find(long key) {
+        for (int slot = (int) key & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    private static int insert(long[] keys, long key) {
+        int slotMask = keys.length - 1;
+        int slot = (int) key & slotMask;
+        while (keys[slot] != 0 && keys[slot] != key) slot = (slot + 1) & slotMask;
+        keys[slot] = key;
+        return slot;
+    }
+
+    // Both sorted; true when removing exactly one char from `longer` gives `shorter`
+    static boolean oneLetterMore(String longer, String shorter) {
+        if (longer.length() != shorter.length() + 1) return false;
+        int i = 0;
+        while (i < shorter.length() && longer.charAt(i) == shorter.charAt(i)) i++;
+        return longer.regionMatches(i + 1, shorter, i, shorter.length() - i);
+    }
+
+    private static int distinctLetters(String signature) {
+        int distinct = 0;
+        for (int i = 0; i < signature.length(); i++) {
+            if (i == 0 || signature.charAt(i) != signature.charAt(i - 1)) distinct++;
+        }
+        return distinct;
+    }
+
+    // FNV-1a over the signature without the char at `skip`, finished with a 64-bit mixer
+    static long hash(String signature, int skip) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < signature.length(); i++) {
+            if (i == skip) continue;
+            h ^= signature.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
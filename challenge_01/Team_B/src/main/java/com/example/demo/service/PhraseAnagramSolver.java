@@ -0,0 +1,255 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds multi-word anagrams of a phrase using the words in the current dictionary.
+ * <p>
+ * The search runs over signature groups rather than words, so words sharing letters
+ * are explored once. Only groups whose letters fit inside the phrase are candidates;
+ * they are tried longest first, in index order so each multiset of groups is reached
+ * once, and every level narrows the candidate list to what still fits the remaining
+ * letters. Top-level branches run in parallel on a fork-join pool, and the search
+ * stops once it finds a result past the limit or hits the deadline, whichever comes
+ * first; the extra result is only there to tell a complete answer from a cut one.
+ */
+@Service
+public class PhraseAnagramSolver {
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final GameService gameService;
+    private final Duration timeout;
+    private final int maxResults;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public PhraseAnagramSolver(GameService gameService,
+                               @Value("${game.solver.timeout:250ms}") Duration timeout,
+                               @Value("${game.solver.max-results:1000}") int maxResults) {
+        this.gameService = gameService;
+        this.timeout = timeout;
+        this.maxResults = maxResults;
+    }
+
+    /** Anagrams found, and whether the search ran to completion without hitting a cap. */
+    public record Result(List<String> anagrams, boolean complete) {}
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Limits above the configured result cap are clamped to it, and maxWords to the phrase's
+     * letter count since every word takes at least one; every search gets the configured timeout.
+     */
+    public Result solve(String phrase, int maxWords, int limit) {
+        limit = Math.min(limit, maxResults);
+        var index = gameService.dictionary().index();
+        int[] remaining = new int[AnagramEngine.ALPHABET];
+        int letters = AnagramEngine.countInto(phrase, remaining);
+        maxWords = Math.min(maxWords, letters);
+        if (letters == 0 || maxWords <= 0 || limit <= 0) return new Result(List.of(), true);
+
+        List<Candidate> fitting = new ArrayList<>();
+        for (int g = 0; g < index.groupCount(); g++) {
+            String signature = index.groupSignature(g);
+            if (signature.length() <= letters) {
+                Candidate candidate = Candidate.of(g, signature);
+                if (candidate.fits(remaining)) fitting.add(candidate);
+            }
+        }
+        Candidate[] candidates = fitting.toArray(new Candidate[0]);
+        Arrays.sort(candidates, Comparator.comparingInt((Candidate c) -> -c.length).thenComparingInt(c -> c.group));
+
+        var search = new Search(candidates, maxWords, limit, System.nanoTime() + timeout.toNanos());
+        pool.invoke(new Root(search, remaining, letters));
+        List<String> anagrams = search.expand(index, limit + 1);
+        boolean complete = !search.timedOut && anagrams.size() <= limit;
+        return new Result(complete ? anagrams : new ArrayList<>(anagrams.subList(0, Math.min(limit, anagrams.size()))), complete);
+    }
+
+    // A signature group as a sparse letter-count vector
+    private record Candidate(int group, int length, byte[] slots, byte[] counts) {
+        static Candidate of(int group, String signature) {
+            byte[] slots = new byte[signature.length()];
+            byte[] counts = new byte[signature.length()];
+            int distinct = -1;
+            for (int i = 0; i < signature.length(); i++) {
+                int slot = AnagramEngine.slotOf(signature.charAt(i));
+                if (distinct < 0 || slots[distinct] != slot) slots[++distinct] = (byte) slot;
+                counts[distinct]++;
+            }
+            return new Candidate(group, signature.length(),
+                    Arrays.copyOf(slots, distinct + 1), Arrays.copyOf(counts, distinct + 1));
+        }
+
+        boolean fits(int[] remaining) {
+            for (int i = 0; i < slots.length; i++) {
+                if (remaining[slots[i]] < counts[i]) return false;
+            }
+            return true;
+        }
+
+        void take(int[] remaining, int sign) {
+            for (int i = 0; i < slots.length; i++) remaining[slots[i]] -= sign * counts[i];
+        }
+    }
+
+    private static final class Search {
+        final Candidate[] candidates;
+        final int maxWords;
+        final int limit;
+        final long deadline;
+        final Queue<int[]> solutions = new ConcurrentLinkedQueue<>();
+        final AtomicInteger found = new AtomicInteger();
+        volatile boolean timedOut;
+
+        Search(Candidate[] candidates, int maxWords, int limit, long deadline) {
+            this.candidates = candidates;
+            this.maxWords = maxWords;
+            this.limit = limit;
+            this.deadline = deadline;
+        }
+
+        // Every group solution expands to at least one phrase, so limit + 1 of them prove there are more
+        boolean stopped() {
+            return timedOut || found.get() > limit;
+        }
+
+        boolean pastDeadline() {
+            if (System.nanoTime() - deadline > 0) timedOut = true;
+            return timedOut;
+        }
+
+        // Tries each of options[0..count), all of which fit `remaining`, as the next group
+        void search(Candidate[] options, int count, int[] remaining, int letters, int depth, Walk walk) {
+            for (int i = 0; i < count && !stopped(); i++) {
+                if ((++walk.nodes & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && pastDeadline()) return;
+                visit(options, count, i, remaining, letters, depth, walk);
+            }
+        }
+
+        // Takes options[i], then searches the options from i on that still fit what is left
+        void visit(Candidate[] options, int count, int i, int[] remaining, int letters, int depth, Walk walk) {
+            Candidate candidate = options[i];
+            walk.path[depth] = candidate.group;
+            if (candidate.length == letters) {
+                if (found.getAndIncrement() <= limit) solutions.add(Arrays.copyOf(walk.path, depth + 1));
+                return;
+            }
+            if (depth + 1 >= maxWords) return;
+            candidate.take(remaining, 1);
+            int left = letters - candidate.length;
+            // Siblings reuse the next level's list: each one's subtree is done before the next starts
+            Candidate[] next = walk.levels[depth + 1];
+            if (next == null || next.length < count - i) next = walk.levels[depth + 1] = new Candidate[count - i];
+            int nextCount = 0;
+            for (int j = i; j < count; j++) {
+                if (options[j].length <= left && options[j].fits(remaining)) next[nextCount++] = options[j];
+            }
+            if (nextCount > 0) search(next, nextCount, remaining, left, depth + 1, walk);
+            candidate.take(remaining, -1);
+        }
+
+        // Turns group-level solutions into phrases, one word per group slot, fewest words first
+        List<String> expand(AnagramIndex index, int limit) {
+            List<Phrase> phrases = new ArrayList<>();
+            for (int[] groups : solutions) {
+                expand(index, groups, 0, new String[groups.length], 0, phrases, limit);
+                if (phrases.size() >= limit) break;
+            }
+            phrases.sort(Comparator.comparingInt(Phrase::words).thenComparing(Phrase::text));
+            List<String> texts = new ArrayList<>(phrases.size());
+            for (Phrase phrase : phrases) texts.add(phrase.text());
+            return texts;
+        }
+
+        private static void expand(AnagramIndex index, int[] groups, int at, String[] words, int firstWord,
+                                   List<Phrase> phrases, int limit) {
+            if (phrases.size() >= limit) return;
+            if (at == groups.length) {
+                phrases.add(new Phrase(groups.length, String.join(" ", words)));
+                return;
+            }
+            List<String> group = index.groupWords(groups[at]);
+            // A group repeated back to back only takes its words in non-decreasing order
+            int from = at > 0 && groups[at] == groups[at - 1] ? firstWord : 0;
+            for (int w = from; w < group.size(); w++) {
+                words[at] = group.get(w);
+                expand(index, groups, at + 1, words, w, phrases, limit);
+            }
+        }
+    }
+
+    private record Phrase(int words, String text) {}
+
+    // One branch's scratch space: the groups taken so far, an option list per depth and a node count
+    private static final class Walk {
+        final int[] path;
+        final Candidate[][] levels;
+        int nodes;
+
+        Walk(int maxWords) {
+            path = new int[maxWords];
+            levels = new Candidate[maxWords][];
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Root extends RecursiveAction {
+        private final Search search;
+        private final int[] remaining;
+        private final int letters;
+
+        Root(Search search, int[] remaining, int letters) {
+            this.search = search;
+            this.remaining = remaining;
+            this.letters = letters;
+        }
+
+        @Override
+        protected void compute() {
+            Candidate[] candidates = search.candidates;
+            List<Branch> branches = new ArrayList<>(candidates.length);
+            for (int i = 0; i < candidates.length; i++) branches.add(new Branch(search, i, remaining, letters));
+            invokeAll(branches);
+        }
+    }
+
+    // Every solution whose first (longest) group is candidates[first]
+    @SuppressWarnings("serial")
+    private static final class Branch extends RecursiveAction {
+        private final Search search;
+        private final int first;
+        private final int[] remaining;
+        private final int letters;
+
+        Branch(Search search, int first, int[] remaining, int letters) {
+            this.search = search;
+            this.first = first;
+            this.remaining = remaining.clone();
+            this.letters = letters;
+        }
+
+        @Override
+        protected void compute() {
+            // Node counts start over per branch, so the clock is also read before each one
+            if (search.stopped() || search.pastDeadline()) return;
+            search.visit(search.candidates, search.candidates.length, first, remaining, letters, 0,
+                    new Walk(search.maxWords));
+        }
+    }
+}
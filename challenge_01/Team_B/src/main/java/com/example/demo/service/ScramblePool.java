@@ -0,0 +1,83 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Words that make fair scramble puzzles: the only dictionary word with their letters
+ * (so any scramble has exactly one answer) and not made of one repeated letter. They
+ * are bucketed by difficulty and length, so picking one is O(1) on the request path.
+ */
+public final class ScramblePool {
+
+    public enum Difficulty { EASY, MEDIUM, HARD }
+
+    // Scrabble tile values, a rough proxy for how unfamiliar a letter makes a word
+    private static final int[] LETTER_SCORE = {
+            1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10
+    };
+
+    private final Map<Difficulty, LengthBuckets> buckets;
+    private final int size;
+
+    private ScramblePool(Map<Difficulty, LengthBuckets> buckets, int size) {
+        this.buckets = buckets;
+        this.size = size;
+    }
+
+    public static ScramblePool build(AnagramIndex index) {
+        Map<Difficulty, List<String>> words = new EnumMap<>(Difficulty.class);
+        for (Difficulty difficulty : Difficulty.values()) words.put(difficulty, new ArrayList<>());
+        int size = 0;
+        for (int group = 0; group < index.groupCount(); group++) {
+            if (index.groupSize(group) != 1) continue;
+            String signature = index.groupSignature(group);
+            if (signature.charAt(0) == signature.charAt(signature.length() - 1)) continue;
+            words.get(difficultyOf(signature)).add(index.groupWords(group).get(0));
+            size++;
+        }
+        Map<Difficulty, LengthBuckets> buckets = new EnumMap<>(Difficulty.class);
+        words.forEach((difficulty, list) -> buckets.put(difficulty, LengthBuckets.of(list)));
+        return new ScramblePool(buckets, size);
+    }
+
+    static Difficulty difficultyOf(String signature) {
+        int score = 0;
+        for (int i = 0; i < signature.length(); i++) {
+            int slot = AnagramEngine.slotOf(signature.charAt(i));
+            score += slot < 26 ? LETTER_SCORE[slot] : 2;
+        }
+        // Average tile value with one decimal, in integer arithmetic
+        int average = score * 10 / signature.length();
+        if (average < 15) return Difficulty.EASY;
+        return average < 25 ? Difficulty.MEDIUM : Difficulty.HARD;
+    }
+
+    /** A random pooled word in the length range, or null if the pool has none there. */
+    public String randomWord(int minLen, int maxLen, Difficulty difficulty, Random rnd) {
+        if (difficulty != null) {
+            LengthBuckets pool = buckets.get(difficulty);
+            return pool.countBetween(minLen, maxLen) > 0 ? pool.randomWord(minLen, maxLen, rnd) : null;
+        }
+        // No difficulty requested: choose one in proportion to how many words it has in range
+        int easy = buckets.get(Difficulty.EASY).countBetween(minLen, maxLen);
+        int medium = buckets.get(Difficulty.MEDIUM).countBetween(minLen, maxLen);
+        int hard = buckets.get(Difficulty.HARD).countBetween(minLen, maxLen);
+        int total = easy + medium + hard;
+        if (total == 0) return null;
+        int pick = rnd.nextInt(total);
+        Difficulty chosen = pick < easy ? Difficulty.EASY : pick < easy + medium ? Difficulty.MEDIUM : Difficulty.HARD;
+        return buckets.get(chosen).randomWord(minLen, maxLen, rnd);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int size(Difficulty difficulty) {
+        return buckets.get(difficulty).size();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Answers "which dictionary words can be spelled from these letters", i.e. whose
+ * letter multiset is contained in the rack's.
+ * <p>
+ * Each word carries a 26-bit letter-presence mask and its letter counts packed into
+ * four longs, one byte lane per letter. Words are bucketed by mask, so a bucket is
+ * rejected with one AND when it needs a letter the rack lacks; for racks with few
+ * distinct letters only the buckets whose mask is a subset of the rack's are looked
+ * up at all, which makes the query cost independent of the dictionary size. Inside a
+ * bucket, words are sorted by length and checked exactly with a SWAR compare of the
+ * packed counts. Only words made purely of letters a-z are indexed, so a word's
+ * letter count and its length agree. A query keeps only the {@code limit} best words
+ * found so far, and stops reading a bucket once its remaining words are too short to
+ * displace any of them.
+ */
+public final class SubAnagramIndex {
+    // Above this many distinct rack letters, enumerating submasks costs more than a scan
+    private static final int MAX_ENUMERATED_LETTERS = 14;
+    private static final int LANES = 4;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    // Longest first, then alphabetical
+    private static final Comparator<String> ORDER =
+            Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder());
+
+    private final int[] bucketMask;
+    private final int[] bucketStart;
+    private final int[] table; // bucket + 1, 0 marks an empty slot
+    private final int tableMask;
+    private final String[] words;
+    private final int[] lengths;
+    private final long[] packed;
+
+    private SubAnagramIndex(int[] bucketMask, int[] bucketStart, String[] words, int[] lengths, long[] packed) {
+        this.bucketMask = bucketMask;
+        this.bucketStart = bucketStart;
+        this.words = words;
+        this.lengths = lengths;
+        this.packed = packed;
+        int capacity = Integer.highestOneBit(Math.max(2, bucketMask.length * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        this.tableMask = capacity - 1;
+        for (int b = 0; b < bucketMask.length; b++) {
+            int slot = hash(bucketMask[b]) & tableMask;
+            while (table[slot] != 0) slot = (slot + 1) & tableMask;
+            table[slot] = b + 1;
+        }
+    }
+
+    public static SubAnagramIndex build(AnagramIndex index) {
+        record Entry(String word, int mask, int length, long[] counts) {}
+        List<Entry> entries = new ArrayList<>(index.size());
+        int[] histogram = new int[AnagramEngine.ALPHABET];
+        for (int i = 0; i < index.size(); i++) {
+            String word = index.wordAt(i);
+            Arrays.fill(histogram, 0);
+            int length = AnagramEngine.countInto(word, histogram);
+            // Words with stripped characters ("can't") would be pruned by letter count but
+            // ranked by String length, so only words that are letters throughout are kept
+            if (length != word.length()) continue;
+            long[] counts = new long[LANES];
+            int mask = pack(histogram, counts);
+            if (mask >= 0) entries.add(new Entry(word, mask, length, counts));
+        }
+        entries.sort(Comparator.comparingInt(Entry::mask).thenComparingInt(Entry::length).thenComparing(Entry::word));
+
+        int n = entries.size();
+        String[] words = new String[n];
+        int[] lengths = new int[n];
+        long[] packed = new long[n * LANES];
+        int[] bucketMask = new int[n];
+        int[] bucketStart = new int[n + 1];
+        int buckets = 0;
+        for (int i = 0; i < n; i++) {
+            Entry entry = entries.get(i);
+            if (buckets == 0 || bucketMask[buckets - 1] != entry.mask()) {
+                bucketMask[buckets] = entry.mask();
+                bucketStart[buckets++] = i;
+            }
+            words[i] = entry.word();
+            lengths[i] = entry.length();
+            System.arraycopy(entry.counts(), 0, packed, i * LANES, LANES);
+        }
+        bucketStart[buckets] = n;
+        return new SubAnagramIndex(Arrays.copyOf(bucketMask, buckets), Arrays.copyOf(bucketStart, buckets + 1),
+                words, lengths, packed);
+    }
+
+    /** Words spelled from a subset of the rack's letters, longest first, at most {@code limit} of them. */
+    public List<String> wordsFrom(String rack, int minLength, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit must not be negative: " + limit);
+        if (limit == 0) return new ArrayList<>();
+        int[] histogram = new int[AnagramEngine.ALPHABET];
+        int rackLength = AnagramEngine.countInto(rack, histogram);
+        for (int slot = 0; slot < AnagramEngine.ALPHABET; slot++) {
+            // Digits can never be used, since no indexed word contains one, and no
+            // indexed word needs more than 127 of a letter
+            int usable = slot < 26 ? Math.min(histogram[slot], 127) : 0;
+            rackLength -= histogram[slot] - usable;
+            histogram[slot] = usable;
+        }
+        long[] rackCounts = new long[LANES];
+        int rackMask = pack(histogram, rackCounts);
+
+        // The worst word kept is at the head, ready to be replaced by a better one
+        PriorityQueue<String> best = new PriorityQueue<>(ORDER.reversed());
+        if (Integer.bitCount(rackMask) <= MAX_ENUMERATED_LETTERS) {
+            // Walk every non-empty submask of the rack mask
+            for (int sub = rackMask; sub != 0; sub = (sub - 1) & rackMask) {
+                int bucket = bucketOf(sub);
+                if (bucket >= 0) collect(bucket, rackCounts, rackLength, minLength, limit, best);
+            }
+        } else {
+            for (int bucket = 0; bucket < bucketMask.length; bucket++) {
+                if ((bucketMask[bucket] & ~rackMask) == 0) collect(bucket, rackCounts, rackLength, minLength, limit, best);
+            }
+        }
+        List<String> found = new ArrayList<>(best);
+        found.sort(ORDER);
+        return found;
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public int bucketCount() {
+        return bucketMask.length;
+    }
+
+    // Reads the bucket longest word first, from the longest the rack could spell
+    private void collect(int bucket, long[] rack, int rackLength, int minLength, int limit, PriorityQueue<String> best) {
+        int start = bucketStart[bucket];
+        for (int i = lastNotLongerThan(rackLength, start, bucketStart[bucket + 1]); i >= start; i--) {
+            if (lengths[i] < minLength) break;
+            if (best.size() == limit && lengths[i] < best.peek().length()) break;
+            if (!fits(i, rack)) continue;
+            if (best.size() < limit) {
+                best.add(words[i]);
+            } else if (ORDER.compare(words[i], best.peek()) < 0) {
+                best.poll();
+                best.add(words[i]);
+            }
+        }
+    }
+
+    // Index of the last word in [from, to) of at most the given length, or from - 1 if there is none
+    private int lastNotLongerThan(int length, int from, int to) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lengths[mid] <= length) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo - 1;
+    }
+
+    // Per byte lane, (128 + rack) - word keeps its high bit exactly when rack >= word
+    private boolean fits(int word, long[] rack) {
+        int base = word * LANES;
+        for (int lane = 0; lane < LANES; lane++) {
+            if ((((rack[lane] | HIGH_BITS) - packed[base + lane]) & HIGH_BITS) != HIGH_BITS) return false;
+        }
+        return true;
+    }
+
+    // Packs letter counts a-z into byte lanes; returns the presence mask, or -1 if the
+    // histogram has digits or a count that does not fit in 7 bits
+    private static int pack(int[] histogram, long[] counts) {
+        int mask = 0;
+        for (int slot = 0; slot < AnagramEngine.ALPHABET; slot++) {
+            int count = histogram[slot];
+            if (count == 0) continue;
+            if (slot >= 26 || count > 127) return -1;
+            mask |= 1 << slot;
+            counts[slot >>> 3] |= (long) count << ((slot & 7) << 3);
+        }
+        return mask;
+    }
+
+    private int bucketOf(int mask) {
+        int slot = hash(mask) & tableMask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & tableMask) {
+            if (bucketMask[entry - 1] == mask) return entry - 1;
+        }
+        return -1;
+    }
+
+    private static int hash(int mask) {
+        int h = mask * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fisher-Yates scrambler on a primitive {@code char[]}. A word made of a single
+ * repeated character has no other arrangement and is returned as is; any other
+ * word always comes back different from the input after exactly one shuffle.
+ */
+public final class WordScrambler {
+    private WordScrambler() {}
+
+    public static String scramble(String word) {
+        return scramble(word, () -> {});
+    }
+
+    /** As {@link #scramble(String)}, calling {@code onRetry} when the shuffle needed the extra swap. */
+    public static String scramble(String word, Runnable onRetry) {
+        int n = word.length();
+        char[] chars = new char[n];
+        // Copy and remember a position that differs from the first char in the same pass
+        int different = -1;
+        for (int i = 0; i < n; i++) {
+            chars[i] = word.charAt(i);
+            if (different < 0 && chars[i] != chars[0]) different = i;
+        }
+        if (different < 0) return word;
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            char tmp = chars[i];
+            chars[i] = chars[j];
+            chars[j] = tmp;
+        }
+        if (unchanged(chars, word)) {
+            // The shuffle landed on the identity: swapping two distinct chars is enough to break it
+            chars[0] = chars[different];
+            chars[different] = word.charAt(0);
+            onRetry.run();
+        }
+        return new String(chars);
+    }
+
+    private static boolean unchanged(char[] chars, String word) {
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] != word.charAt(i)) return false;
+        }
+        return true;
+    }
+}
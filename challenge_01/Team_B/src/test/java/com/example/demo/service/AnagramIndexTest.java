@@ -0,0 +1,40 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnagramIndexTest {
+
+    private final AnagramIndex index = AnagramIndex.build(
+            List.of("Listen", "silent", "Tinsel", "stone", "tones", "notes", "apple", "listen ", "!!"));
+
+    @Test
+    void groupsWordsBySignature() {
+        assertEquals(List.of("listen", "silent", "tinsel"), index.anagramsOf("Enlist"));
+        assertEquals(List.of("notes", "stone", "tones"), index.anagramsOf("ONSET"));
+        assertEquals(List.of(), index.anagramsOf("banana"));
+    }
+
+    @Test
+    void dropsDuplicatesAndEmptySignatures() {
+        assertEquals(7, index.size());
+        assertEquals(3, index.groupCount());
+    }
+
+    @Test
+    void containsMatchesWholeWordsOnly() {
+        assertTrue(index.contains("Apple"));
+        assertFalse(index.contains("ppale"));
+    }
+
+    @Test
+    void signatureIsSortedNormalizedInput() {
+        assertEquals("eilnst", AnagramEngine.signature("Silent!"));
+        assertEquals("ab12", AnagramEngine.signature("2b 1A"));
+    }
+}
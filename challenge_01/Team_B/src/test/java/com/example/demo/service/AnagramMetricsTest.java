@@ -0,0 +1,73 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnagramMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private GameService gameService;
+    private AnagramMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var words = "listen\nsilent\nstone\ntones\napple\n";
+        gameService = new GameService(new ByteArrayResource(words.getBytes(StandardCharsets.UTF_8)),
+                Integer.MAX_VALUE, new GameSessionStore(Duration.ofMinutes(1), 10));
+        gameService.init();
+        metrics = new AnagramMetrics(registry, gameService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameService.shutdown();
+    }
+
+    @Test
+    void recordsCheckLatencyByOutcomeAndInputLength() {
+        metrics.checked(metrics.start(), true, 12);
+        metrics.checked(metrics.start(), false, 4);
+        metrics.checked(metrics.start(), false, 6);
+
+        assertEquals(1, registry.get("anagram.check").tag("outcome", "valid").timer().count());
+        assertEquals(2, registry.get("anagram.check").tag("outcome", "invalid").timer().count());
+        var inputLength = registry.get("anagram.check.input.length").summary();
+        assertEquals(3, inputLength.count());
+        assertEquals(22, inputLength.totalAmount());
+        assertEquals(12, inputLength.max());
+    }
+
+    @Test
+    void recordsFailedChecks() {
+        metrics.checkFailed(metrics.start(), 8);
+
+        assertEquals(1, registry.get("anagram.check").tag("outcome", "error").timer().count());
+        assertEquals(1, registry.get("anagram.check.input.length").summary().count());
+    }
+
+    @Test
+    void dictionaryGaugesFollowTheLoadedSnapshot() {
+        assertEquals(5, registry.get("dictionary.words").gauge().value());
+        assertEquals(3, registry.get("dictionary.signature.groups").gauge().value());
+        assertEquals(2, registry.get("dictionary.length.buckets").gauge().value());
+    }
+
+    @Test
+    void countsScrambleRetries() {
+        var retries = registry.get("game.scramble.retries").counter();
+        // A two-letter word shuffles back to itself half the time
+        for (int i = 0; i < 200; i++) {
+            gameService.scramble("ab", metrics::scrambleRetried);
+        }
+        assertTrue(retries.count() > 0);
+    }
+}
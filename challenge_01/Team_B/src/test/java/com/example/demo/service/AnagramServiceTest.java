@@ -0,0 +1,47 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AnagramCheckerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnagramServiceTest {
+
+    private final AnagramService anagramService = new AnagramService();
+
+    @Test
+    void detectsAnagramsIgnoringCaseAndPunctuation() {
+        assertTrue(check("Listen", "Silent"));
+        assertTrue(check("Dormitory", "Dirty room!"));
+        assertTrue(check("a1b2", "2B1A"));
+        assertFalse(check("aab", "abb"));
+        assertFalse(check("abc", "abcd"));
+    }
+
+    @Test
+    void matchesSortBasedImplementation() {
+        String[] inputs = {"", "!!", "Stone", "Tones", "notes ", "café", "cafe", "Key", "key",
+                "İnk", "ink", "a😀b", "ba", "Tom Marvolo Riddle", "I am Lord Voldemort"};
+        for (String a : inputs) {
+            for (String b : inputs) {
+                assertEquals(sortBased(a, b), check(a, b), a + " / " + b);
+            }
+        }
+    }
+
+    private boolean check(String a, String b) {
+        return anagramService.isAnagram(AnagramCheckerRequest.builder().input1(a).input2(b).build());
+    }
+
+    private static boolean sortBased(String a, String b) {
+        char[] s = a.toLowerCase().replaceAll("[^a-z0-9]", "").toCharArray();
+        char[] t = b.toLowerCase().replaceAll("[^a-z0-9]", "").toCharArray();
+        Arrays.sort(s);
+        Arrays.sort(t);
+        return Arrays.equals(s, t);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchAnagramServiceTest {
+
+    private final BatchAnagramService batchAnagramService = new BatchAnagramService(new ObjectMapper(), 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        batchAnagramService.shutdown();
+    }
+
+    @Test
+    void keepsInputOrderAcrossChunks() throws Exception {
+        int pairs = BatchAnagramService.CHUNK_SIZE * 2 + 17;
+        StringBuilder body = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < pairs; i++) {
+            boolean valid = i % 3 != 0;
+            body.append("{\"input1\":\"listen").append(i).append("\",\"input2\":\"")
+                    .append(valid ? "silent" : "tinsel!").append(valid ? i : i + 1).append("\"}\n");
+            expected.append(valid ? "{\"message\":\"Valid\"}\n" : "{\"message\":\"Invalid\"}\n");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long checked = batchAnagramService.check(stream(body.toString()), out);
+
+        assertEquals(pairs, checked);
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stopsWithErrorLineOnMalformedInput() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long checked = batchAnagramService.check(
+                stream("{\"input1\":\"abc\",\"input2\":\"cab\"}\n{\"input1\":\n"), out);
+
+        assertEquals(1, checked);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("{\"message\":\"Valid\"}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"error\":"));
+    }
+
+    @Test
+    void stopsReadingOnceCancelled() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < BatchAnagramService.CHUNK_SIZE * 3; i++) body.append("{\"input1\":\"ab\",\"input2\":\"ba\"}\n");
+        AtomicInteger polls = new AtomicInteger();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long checked = batchAnagramService.check(stream(body.toString()), out, () -> polls.incrementAndGet() > 10);
+
+        assertTrue(checked < BatchAnagramService.CHUNK_SIZE, "checked " + checked);
+        assertEquals(checked, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
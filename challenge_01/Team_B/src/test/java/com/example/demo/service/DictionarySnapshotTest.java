@@ -0,0 +1,43 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DictionarySnapshotTest {
+
+    private final DictionarySnapshot snapshot = DictionarySnapshot.of(
+            List.of("ox", "cat", "dog", "stone", "apple", "tinsel", "silent", "Stone", "strengths"));
+
+    @Test
+    void countsWordsPerLengthRange() {
+        assertEquals(8, snapshot.size());
+        assertEquals(2, snapshot.countBetween(3, 4));
+        assertEquals(4, snapshot.countBetween(5, 6));
+        assertEquals(1, snapshot.countBetween(7, 100));
+        assertEquals(0, snapshot.countBetween(7, 8));
+        assertEquals(0, snapshot.countBetween(6, 5));
+        assertEquals(8, snapshot.countBetween(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(9, snapshot.maxLength());
+    }
+
+    @Test
+    void randomWordStaysWithinRange() {
+        Random rnd = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(Set.of("stone", "apple", "tinsel", "silent").contains(snapshot.randomWord(5, 6, rnd)));
+        }
+    }
+
+    @Test
+    void rejectsEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> snapshot.randomWord(7, 8, new Random()));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.randomWord(6, 5, new Random()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GameSessionStoreTest {
+
+    @Test
+    void countsHitsAndMisses() {
+        var store = new GameSessionStore(Duration.ofMinutes(1), 10);
+        var session = store.start("listen");
+
+        assertNotNull(store.get(session.id()));
+        assertNull(store.get("unknown"));
+        assertEquals("eilnst", session.signature());
+        assertEquals(1, store.hits());
+        assertEquals(1, store.misses());
+    }
+
+    @Test
+    void evictsOldestBeyondMaxSize() {
+        var store = new GameSessionStore(Duration.ofMinutes(1), 3);
+        var first = store.start("apple");
+        for (int i = 0; i < 3; i++) store.start("stone");
+
+        assertEquals(3, store.size());
+        assertEquals(1, store.evictions());
+        assertNull(store.get(first.id()));
+    }
+
+    @Test
+    void expiresAfterWrite() throws InterruptedException {
+        var store = new GameSessionStore(Duration.ofMillis(1), 10);
+        var session = store.start("apple");
+        Thread.sleep(5);
+
+        assertNull(store.get(session.id()));
+        assertEquals(0, store.size());
+        assertEquals(1, store.evictions());
+    }
+
+    @Test
+    void finishedGamesDoNotCountTowardsSize() {
+        var store = new GameSessionStore(Duration.ofMinutes(1), 2);
+        for (int i = 0; i < 10; i++) store.remove(store.start("stone"));
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.evictions());
+    }
+
+    @Test
+    void finishedGamesDoNotEvictLiveOnes() {
+        var store = new GameSessionStore(Duration.ofMinutes(1), 2);
+        var live = store.start("apple");
+        for (int i = 0; i < 10; i++) store.remove(store.start("stone"));
+
+        assertNotNull(store.get(live.id()));
+        assertEquals(1, store.size());
+        assertEquals(0, store.evictions());
+    }
+}
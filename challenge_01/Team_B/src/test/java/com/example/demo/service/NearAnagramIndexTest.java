@@ -0,0 +1,78 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearAnagramIndexTest {
+
+    private final AnagramIndex anagramIndex = AnagramIndex.build(
+            List.of("stone", "notes", "tones", "stones", "note", "tone", "store", "apple", "alone"));
+
+    @Test
+    void findsOneLetterInsertionsDeletionsAndSubstitutions() {
+        var index = NearAnagramIndex.build(anagramIndex, Integer.MAX_VALUE);
+
+        assertEquals(Set.of("stones", "note", "tone", "store"), new TreeSet<>(index.nearAnagramsOf("Onset", 100)));
+        assertEquals(Set.of("notes", "stone", "tones"), new TreeSet<>(index.nearAnagramsOf("eont", 100)));
+        assertEquals(List.of(), index.nearAnagramsOf("xyz", 100));
+        assertFalse(index.truncated());
+    }
+
+    @Test
+    void matchesBruteForceOnRandomWords() {
+        Random rnd = new Random(11);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) words.add(randomWord(rnd, 2 + rnd.nextInt(5)));
+        var dictionary = AnagramIndex.build(words);
+        var index = NearAnagramIndex.build(dictionary, Integer.MAX_VALUE);
+
+        for (int i = 0; i < 300; i++) {
+            String guess = randomWord(rnd, 2 + rnd.nextInt(5));
+            String query = AnagramEngine.signature(guess);
+            Set<String> expected = new TreeSet<>();
+            for (int w = 0; w < dictionary.size(); w++) {
+                String signature = AnagramEngine.signature(dictionary.wordAt(w));
+                if (oneEditApart(signature, query)) expected.add(dictionary.wordAt(w));
+            }
+            assertEquals(expected, new TreeSet<>(index.nearAnagramsOf(guess, Integer.MAX_VALUE)), guess);
+        }
+    }
+
+    @Test
+    void capsPostingsAndReportsMemory() {
+        var index = NearAnagramIndex.build(anagramIndex, 10);
+
+        assertTrue(index.truncated());
+        assertTrue(index.indexedPostings() <= 10);
+        assertTrue(index.memoryBytes() > 0);
+    }
+
+    private static boolean oneEditApart(String a, String b) {
+        if (a.equals(b)) return false;
+        int[] counts = new int[26];
+        for (char c : a.toCharArray()) counts[c - 'a']++;
+        for (char c : b.toCharArray()) counts[c - 'a']--;
+        int surplus = 0;
+        int deficit = 0;
+        for (int count : counts) {
+            if (count > 0) surplus += count;
+            else deficit -= count;
+        }
+        return surplus <= 1 && deficit <= 1;
+    }
+
+    private static String randomWord(Random rnd, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) sb.append((char) ('a' + rnd.nextInt(6)));
+        return sb.toString();
+    }
+}
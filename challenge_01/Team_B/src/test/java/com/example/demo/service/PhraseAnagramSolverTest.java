@@ -0,0 +1,67 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhraseAnagramSolverTest {
+
+    private PhraseAnagramSolver solver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var words = "dirty\nroom\ndormitory\nmoor\ntidy\nrod\nmy\nrot\nmid\ntory\nyo\nto\no\n";
+        var gameService = new GameService(new ByteArrayResource(words.getBytes(StandardCharsets.UTF_8)),
+                Integer.MAX_VALUE, new GameSessionStore(Duration.ofMinutes(1), 10));
+        gameService.init();
+        solver = new PhraseAnagramSolver(gameService, Duration.ofSeconds(5), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver.shutdown();
+    }
+
+    @Test
+    void findsEveryMultiWordAnagramOnce() {
+        var result = solver.solve("Dirty room", 2, 100);
+
+        assertTrue(result.complete());
+        assertEquals(List.of("dormitory", "dirty moor", "dirty room"), result.anagrams());
+    }
+
+    @Test
+    void respectsWordAndResultLimits() {
+        assertEquals(List.of("dormitory"), solver.solve("dirty room", 1, 100).anagrams());
+
+        var capped = solver.solve("dirty room", 4, 1);
+        assertEquals(1, capped.anagrams().size());
+        assertFalse(capped.complete());
+
+        var exact = solver.solve("dirty room", 2, 3);
+        assertEquals(3, exact.anagrams().size());
+        assertTrue(exact.complete());
+    }
+
+    @Test
+    void clampsMaxWordsToTheLetterCount() {
+        var result = solver.solve("dirty room", 100_000_000, 100);
+
+        assertTrue(result.complete());
+        assertTrue(result.anagrams().containsAll(List.of("dormitory", "dirty moor", "dirty room")));
+    }
+
+    @Test
+    void repeatedWordsAreNotListedTwice() {
+        assertEquals(List.of("o o"), solver.solve("oo", 2, 100).anagrams());
+    }
+}
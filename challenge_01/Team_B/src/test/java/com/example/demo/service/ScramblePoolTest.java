@@ -0,0 +1,33 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ScramblePoolTest {
+
+    private final ScramblePool pool = ScramblePool.build(AnagramIndex.build(
+            List.of("listen", "silent", "stone", "tones", "apple", "tinsel", "quartz", "banana", "aaaaa", "zzz")));
+
+    @Test
+    void keepsOnlyWordsWithASingleAnswer() {
+        assertEquals(3, pool.size());
+        Random rnd = new Random(1);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("apple", pool.randomWord(5, 5, null, rnd));
+        }
+        assertNull(pool.randomWord(7, 9, null, rnd));
+    }
+
+    @Test
+    void bucketsByDifficulty() {
+        assertEquals(ScramblePool.Difficulty.EASY, ScramblePool.difficultyOf("aeilnst"));
+        assertEquals(ScramblePool.Difficulty.HARD, ScramblePool.difficultyOf("aqrtuz"));
+        assertEquals("quartz", pool.randomWord(6, 6, ScramblePool.Difficulty.HARD, new Random()));
+        assertEquals("banana", pool.randomWord(6, 6, ScramblePool.Difficulty.EASY, new Random()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SubAnagramIndexTest {
+
+    @Test
+    void findsWordsSpelledFromTheRack() {
+        var index = SubAnagramIndex.build(AnagramIndex.build(
+                List.of("listen", "silent", "list", "lint", "stile", "tee", "set", "sit", "tin", "zoo",
+                        "a1", "can't", "tins-")));
+
+        assertEquals(List.of("listen", "silent", "stile", "lint", "list", "set", "sit", "tin"),
+                index.wordsFrom("Listen!", 3, 100));
+        assertEquals(List.of("list", "sit"), index.wordsFrom("tils", 1, 100));
+        assertEquals(List.of("listen"), index.wordsFrom("silentt", 6, 1));
+        assertEquals(10, index.size());
+    }
+
+    @Test
+    void matchesBruteForceOnRandomRacks() {
+        Random rnd = new Random(7);
+        List<String> dictionary = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) dictionary.add(randomWord(rnd, 2 + rnd.nextInt(7)));
+        var anagramIndex = AnagramIndex.build(dictionary);
+        var index = SubAnagramIndex.build(anagramIndex);
+
+        for (int i = 0; i < 200; i++) {
+            // Alternate small racks (submask lookup) and large ones (bucket scan)
+            String rack = randomWord(rnd, i % 2 == 0 ? 7 : 40);
+            List<String> expected = new ArrayList<>();
+            for (int w = 0; w < anagramIndex.size(); w++) {
+                if (contained(anagramIndex.wordAt(w), rack)) expected.add(anagramIndex.wordAt(w));
+            }
+            expected.sort(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+            assertEquals(expected, index.wordsFrom(rack, 1, Integer.MAX_VALUE), rack);
+            int limit = rnd.nextInt(20);
+            assertEquals(expected.subList(0, Math.min(limit, expected.size())), index.wordsFrom(rack, 1, limit), rack);
+        }
+    }
+
+    @Test
+    void rejectsNegativeLimits() {
+        var index = SubAnagramIndex.build(AnagramIndex.build(List.of("list", "sit")));
+
+        assertEquals(List.of(), index.wordsFrom("tils", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.wordsFrom("tils", 1, -1));
+    }
+
+    private static boolean contained(String word, String rack) {
+        int[] counts = new int[26];
+        for (char c : rack.toCharArray()) counts[c - 'a']++;
+        for (char c : word.toCharArray()) {
+            if (--counts[c - 'a'] < 0) return false;
+        }
+        return true;
+    }
+
+    private static String randomWord(Random rnd, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) sb.append((char) ('a' + rnd.nextInt(rnd.nextBoolean() ? 8 : 26)));
+        return sb.toString();
+    }
+}
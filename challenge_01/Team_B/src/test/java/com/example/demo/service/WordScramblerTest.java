@@ -0,0 +1,27 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class WordScramblerTest {
+
+    @Test
+    void alwaysReturnsADifferentPermutation() {
+        for (String word : new String[]{"ab", "aab", "listen", "aaaab", "baaaa"}) {
+            for (int i = 0; i < 1000; i++) {
+                String scrambled = WordScrambler.scramble(word);
+                assertNotEquals(word, scrambled);
+                assertEquals(AnagramEngine.signature(word), AnagramEngine.signature(scrambled));
+            }
+        }
+    }
+
+    @Test
+    void returnsUnscramblableWordsUnchanged() {
+        assertEquals("", WordScrambler.scramble(""));
+        assertEquals("a", WordScrambler.scramble("a"));
+        assertEquals("aaaaa", WordScrambler.scramble("aaaaa"));
+    }
+}
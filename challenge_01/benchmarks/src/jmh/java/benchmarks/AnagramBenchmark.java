@@ -0,0 +1,74 @@
+package benchmarks;
+
+import anagram.AnagramDetector;
+import com.example.demo.dto.AnagramCheckerRequest;
+import com.example.demo.service.AnagramService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each anagram check over a fixed batch of generated pairs; run with
+ * the gc profiler (the default in build.gradle) to get bytes allocated per check.
+ * Both teams' entry points now delegate to their AnagramEngine; the sort-based
+ * versions they replaced are measured alongside as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnagramBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"SHORT_WORDS", "LONG_PHRASES", "PUNCTUATION_HEAVY", "NON_ASCII"})
+    public Corpus corpus;
+
+    @Param({"0.1", "0.9"})
+    public double matchRate;
+
+    private String[][] pairs;
+    private AnagramCheckerRequest[] requests;
+    private final AnagramService anagramService = new AnagramService();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        pairs = corpus.pairs(BATCH, matchRate, 42);
+        requests = new AnagramCheckerRequest[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            requests[i] = AnagramCheckerRequest.builder().input1(pairs[i][0]).input2(pairs[i][1]).build();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void teamADetector(Blackhole bh) {
+        for (String[] pair : pairs) bh.consume(AnagramDetector.isAnagram(pair[0], pair[1]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void teamBService(Blackhole bh) {
+        for (AnagramCheckerRequest request : requests) bh.consume(anagramService.isAnagram(request));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void teamASortingBaseline(Blackhole bh) {
+        for (String[] pair : pairs) bh.consume(SortingBaseline.teamA(pair[0], pair[1]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void teamBSortingBaseline(Blackhole bh) {
+        for (String[] pair : pairs) bh.consume(SortingBaseline.teamB(pair[0], pair[1]));
+    }
+}
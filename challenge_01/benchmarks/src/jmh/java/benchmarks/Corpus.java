@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generated input pairs. A given fraction of pairs are true anagrams (the second
+ * string is a shuffle of the first, keeping its punctuation and case noise);
+ * the rest differ by a single character, which is the worst case for an early exit.
+ */
+public enum Corpus {
+    SHORT_WORDS {
+        @Override
+        String text(Random rnd) {
+            return letters(rnd, 4 + rnd.nextInt(6), "abcdefghijklmnopqrstuvwxyz");
+        }
+    },
+    LONG_PHRASES {
+        @Override
+        String text(Random rnd) {
+            StringBuilder sb = new StringBuilder();
+            for (int w = 0; w < 20 + rnd.nextInt(20); w++) {
+                if (w > 0) sb.append(' ');
+                sb.append(letters(rnd, 2 + rnd.nextInt(8), "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ"));
+            }
+            return sb.toString();
+        }
+    },
+    PUNCTUATION_HEAVY {
+        @Override
+        String text(Random rnd) {
+            return letters(rnd, 40 + rnd.nextInt(40), "abcdefghij0123456789,.;:!?'\"-()[] ");
+        }
+    },
+    NON_ASCII {
+        @Override
+        String text(Random rnd) {
+            return letters(rnd, 20 + rnd.nextInt(30), "abcdeéèêàçñøßäöüİKΣσλ日本語😀 ");
+        }
+    };
+
+    abstract String text(Random rnd);
+
+    public String[][] pairs(int count, double matchRate, long seed) {
+        Random rnd = new Random(seed);
+        String[][] pairs = new String[count][];
+        for (int i = 0; i < count; i++) {
+            String a = text(rnd);
+            String b = shuffle(a, rnd);
+            if (rnd.nextDouble() >= matchRate) b = mutate(b, rnd);
+            pairs[i] = new String[]{a, b};
+        }
+        return pairs;
+    }
+
+    private static String letters(Random rnd, int length, String alphabet) {
+        int[] codePoints = alphabet.codePoints().toArray();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) sb.appendCodePoint(codePoints[rnd.nextInt(codePoints.length)]);
+        return sb.toString();
+    }
+
+    private static String shuffle(String s, Random rnd) {
+        int[] codePoints = s.codePoints().toArray();
+        for (int i = codePoints.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = codePoints[i];
+            codePoints[i] = codePoints[j];
+            codePoints[j] = tmp;
+        }
+        return new String(codePoints, 0, codePoints.length);
+    }
+
+    // Replaces one letter with a different one so the pair is no longer an anagram
+    private static String mutate(String s, Random rnd) {
+        char[] chars = s.toCharArray();
+        for (int attempt = 0; attempt < chars.length; attempt++) {
+            int i = rnd.nextInt(chars.length);
+            if (chars[i] >= 'a' && chars[i] <= 'y') {
+                chars[i]++;
+                return new String(chars);
+            }
+        }
+        return s + "z";
+    }
+}
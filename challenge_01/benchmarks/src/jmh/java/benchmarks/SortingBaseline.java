@@ -0,0 +1,34 @@
+package benchmarks;
+
+import java.util.Arrays;
+
+/** The sort-based checks both teams shipped before the shared engine, kept as a reference point. */
+final class SortingBaseline {
+    private SortingBaseline() {}
+
+    static boolean teamA(String a, String b) {
+        var s = a.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+        var t = b.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+        if (s.length() != t.length()) {
+            return false;
+        }
+        char[] string1 = s.toCharArray();
+        char[] string2 = t.toCharArray();
+        Arrays.sort(string1);
+        Arrays.sort(string2);
+        return Arrays.equals(string1, string2);
+    }
+
+    static boolean teamB(String a, String b) {
+        var normalizedInput1 = a.toLowerCase().replaceAll("[^a-z0-9]", "");
+        var normalizedInput2 = b.toLowerCase().replaceAll("[^a-z0-9]", "");
+        if (normalizedInput1.length() != normalizedInput2.length()) {
+            return false;
+        }
+        char[] input1Chars = normalizedInput1.toCharArray();
+        char[] input2Chars = normalizedInput2.toCharArray();
+        Arrays.sort(input1Chars);
+        Arrays.sort(input2Chars);
+        return Arrays.equals(input1Chars, input2Chars);
+    }
+}
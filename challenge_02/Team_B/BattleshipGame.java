@@ -1,34 +1,39 @@
-import java.util.List;
-import java.util.ArrayList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 import java.util.Random;
-import java.util.Arrays;
 
 public class BattleshipGame {
-    // Constants for grid size and symbols used in the game
-    private static final int GRID_SIZE = 10;
-    private static final char WATER = '~';
-    private static final char HIT = 'X';
-    private static final char MISS = 'O';
-    // Player view of the grid
-    private static char[][] playerView = new char[GRID_SIZE][GRID_SIZE];
-    // Actual grid where ships are placed hidden from player
-    private static char[][] shipGrid = new char[GRID_SIZE][GRID_SIZE];
-   
-    private static List<Ship> ships = new ArrayList<>();
-    // Inner class to represent a Ship
-    private static class Ship {
-        int size; // Size of the ship
-        List<int[]> coordinates = new ArrayList<>();// Coordinates occupied by the ship
-        int hits = 0;// Number of times the ship has been hit
+    // The computer's hidden fleet that the player fires at
+    private final GameEngine enemy;
+    // With --vs-computer: the player's own fleet and the computer firing at it, otherwise null
+    private final GameEngine home;
+    private final ShotStrategy computer;
+    // Exact ship odds for the enemy waters, on boards small enough; null otherwise
+    private final HeatmapHint hint;
+    private boolean showHint = false;
+    private int lastRow = 0;
+    private int lastCol = 0;
+    // What happened since the last screen, shown under the boards
+    private final StringBuilder messages = new StringBuilder();
+    // With --record: every placement and shot of this game, otherwise null
+    private ReplayLog log;
 
-        Ship(int size) {
-            this.size = size;
-        }
-        // Check if the ship is sunk hit enough times to destroy it
-        boolean isSunk() {
-            return hits >= size;
-        }
+    // Both fleets and the computer's choices follow from the seed, so the same seed and moves replay the game
+    public BattleshipGame(GameConfig config, boolean vsComputer, long seed) {
+        Random rand = new Random(seed);
+        enemy = new GameEngine(config, rand.nextLong());
+        home = vsComputer ? new GameEngine(config, rand.nextLong()) : null;
+        computer = vsComputer ? new DensityAI(config.rows(), config.cols(), config.fleet(), rand) : null;
+        hint = config.rows() * config.cols() <= HeatmapHint.MAX_CELLS
+                ? new HeatmapHint(config.rows(), config.cols(), config.fleet(), new Random(seed)) : null;
+    }
+
+    public void record(GameConfig config, long seed) {
+        log = ReplayLog.record(config, seed, enemy.board(), home == null ? null : home.board());
     }
     // simulate a mission briefing
     private static void simulateRadioCheck() throws InterruptedException {
@@ -96,141 +101,227 @@ public class BattleshipGame {
         Thread.sleep(1000);
     }
 
-    public static void main(String[] args) throws InterruptedException {
-        showDramaticIntro();
-        simulateRadioCheck();
-        initializeGrids();
-        placeAllShips();// Randomly placing ships on the grid
-
-        Scanner scanner = new Scanner(System.in);
-        System.out.println("************************* Battle Started ***********************");
-
-        while (!allShipsSunk()) {
-            printPlayerView();
-            System.out.print("Enter coordinates (e.g., A5): ");
-            String input = scanner.nextLine().toUpperCase().trim();
-
-            if (!isValidInput(input)) {
-                System.out.println("Invalid input. Try again.");
-                continue;
+    public static void main(String[] args) throws InterruptedException, IOException {
+        GameConfig config = new GameConfig();
+        boolean vsComputer = false;
+        boolean ansi = false;
+        long seed = new Random().nextLong();
+        String script = null;
+        String record = null;
+        String replay = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                // A bare --vs-computer or --ansi switches it on; otherwise it takes true or false
+                boolean bare = i + 1 == args.length || args[i + 1].startsWith("--");
+                switch (option) {
+                    case "--vs-computer" -> vsComputer = bare || GameConfig.parseBoolean(option, args[++i]);
+                    case "--ansi" -> ansi = bare || GameConfig.parseBoolean(option, args[++i]);
+                    default -> {
+                        if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + option);
+                        String value = args[++i];
+                        switch (option) {
+                            case "--seed" -> seed = GameConfig.parseLong(value);
+                            case "--script" -> script = value;
+                            case "--record" -> record = value;
+                            case "--replay" -> replay = value;
+                            default -> {
+                                if (!config.accept(option, value)) throw new IllegalArgumentException("Unknown option " + option);
+                            }
+                        }
+                    }
+                }
             }
-            // Convert input like "A5" to row and column indices
-            int row = input.charAt(0) - 'A';
-            int col = Integer.parseInt(input.substring(1)) - 1;
-            // Prevent guessing the same spot
-            if (playerView[row][col] == HIT || playerView[row][col] == MISS) {
-                System.out.println("You already tried that spot.");
+            config.validate();
+            if (vsComputer && config.rows() * config.cols() > DensityAI.MAX_CELLS) {
+                throw new IllegalArgumentException("The computer opponent plays on boards of up to " + DensityAI.MAX_CELLS + " cells");
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: java BattleshipGame " + GameConfig.USAGE
+                    + " [--vs-computer] [--ansi] [--seed S] [--script FILE|-] [--record FILE] | --replay FILE");
+            return;
+        }
+        if (replay != null) {
+            try {
+                if (replay(Path.of(replay))) return;
+            } catch (IOException e) {
+                System.out.println("Can't replay " + replay + ": " + e.getMessage());
+            }
+            System.exit(1);
+        }
+        // Randomly placing ships on the grid
+        BattleshipGame game = new BattleshipGame(config, vsComputer, seed);
+        if (record != null) game.record(config, seed);
+        if (script != null) {
+            // Scripted games skip the briefing and play at full speed
+            try (BufferedReader reader = script.equals("-") ? new BufferedReader(new InputStreamReader(System.in))
+                    : Files.newBufferedReader(Path.of(script))) {
+                game.runScript(reader, seed);
+            }
+        } else {
+            showDramaticIntro();
+            simulateRadioCheck();
+            Scanner scanner = new Scanner(System.in);
+            System.out.println("************************* Battle Started ***********************");
+            game.play(scanner, new BoardRenderer(System.out, ansi));
+            scanner.close();
+        }
+        if (record != null) {
+            game.log.save(Path.of(record));
+            System.out.println("Replay saved to " + record + " (" + game.log.size() + " bytes)");
+        }
+    }
+    // Reads moves until one side's fleet is sunk or input runs out
+    private void play(Scanner scanner, BoardRenderer renderer) {
+        Board board = enemy.board();
+        while (!isOver()) {
+            draw(renderer);
+            renderer.text(hint != null ? "Enter coordinates (e.g., A5) or hint: " : "Enter coordinates (e.g., A5): ").flush();
+            if (!scanner.hasNextLine()) break;
+            String input = scanner.nextLine();
+            if (hint != null && input.strip().equalsIgnoreCase("hint")) {
+                showHint = true;
                 continue;
             }
-            // Check for hit or miss
-            if (shipGrid[row][col] == 'S') {
-                playerView[row][col] = HIT;
-                System.out.println("Hit!");
-                updateShipStatus(row, col);
-            } else {
-                playerView[row][col] = MISS;
-                System.out.println("Miss!");
+            // Convert input like "A5" or "AB120" to row and column indices
+            long coordinates = Coordinates.parse(input, board.rows(), board.cols());
+            if (coordinates == Coordinates.INVALID) {
+                messages.append("Invalid input. Try again.\n");
+                continue;
             }
+            fire(Coordinates.row(coordinates), Coordinates.col(coordinates));
+        }
+        draw(renderer);
+        renderer.flush();
+        if (enemy.isOver()) {
+            System.out.println("\n🎉 You sank all the battleships! Game Over.");
+        } else if (home != null && home.isOver()) {
+            System.out.println("\n💥 The computer sank your whole fleet! Game Over.");
         }
-        System.out.println("\n🎉 You sank all the battleships! Game Over.");
-        scanner.close();
     }
-    // Fill both player view and ship grid with water symbols
-    private static void initializeGrids() {
-        for (int i = 0; i < GRID_SIZE; i++) {
-            Arrays.fill(playerView[i], WATER);
-            Arrays.fill(shipGrid[i], WATER);
+    // Adds the boards and the latest messages to the next screen
+    private void draw(BoardRenderer renderer) {
+        if (home != null) {
+            renderer.line("Your fleet:").board(home.board(), true, 0, 0).line("Enemy waters:");
+        }
+        renderer.board(enemy.board(), false, lastRow, lastCol);
+        if (showHint) {
+            HeatmapHint.Heatmap heatmap = hint.heatmap();
+            renderer.line(heatmap.exact() ? "Chance of a ship, in percent, over all " + heatmap.fleets() + " fleets that fit:"
+                    : "Chance of a ship, in percent (estimated, too many fleets to count yet):");
+            renderer.heatmap(enemy.board(), heatmap.probabilities());
+            int best = hint.nextShot();
+            messages.append("Best shot: ");
+            Coordinates.appendRowLabel(messages, best / hint.cols()).append(best % hint.cols() + 1).append('\n');
+            showHint = false;
         }
+        renderer.text(messages);
+        messages.setLength(0);
     }
-    // Print the grid visible to the player
-    private static void printPlayerView() {
-        // Print column numbers
-        System.out.print("  ");
-        for (int i = 1; i <= GRID_SIZE; i++) {
-            System.out.print(i + " ");
-        }
-        System.out.println();
-        // Print each row with letters A-J
-        for (int row = 0; row < GRID_SIZE; row++) {
-            System.out.print((char) ('A' + row) + " ");
-            for (int col = 0; col < GRID_SIZE; col++) {
-                System.out.print(playerView[row][col] + " ");
+    // Plays one move per script line with no prompts or boards, then reports how the game ended.
+    // Blank lines and lines starting with # are skipped.
+    private void runScript(BufferedReader script, long seed) throws IOException {
+        Board board = enemy.board();
+        int lineNumber = 0;
+        for (String line; !isOver() && (line = script.readLine()) != null; ) {
+            lineNumber++;
+            String move = line.strip();
+            if (move.isEmpty() || move.startsWith("#")) continue;
+            long coordinates = Coordinates.parse(move, board.rows(), board.cols());
+            if (coordinates == Coordinates.INVALID) {
+                System.out.println("Line " + lineNumber + ": invalid coordinates " + move);
+                continue;
             }
-            System.out.println();
+            fire(Coordinates.row(coordinates), Coordinates.col(coordinates));
+            messages.setLength(0);
+        }
+        if (enemy.isOver()) {
+            System.out.println("Seed " + seed + ": you sank all the battleships in " + enemy.shots() + " shots.");
+        } else if (home != null && home.isOver()) {
+            System.out.println("Seed " + seed + ": the computer sank your whole fleet after " + home.shots() + " shots.");
+        } else {
+            System.out.println("Seed " + seed + ": the script ran out after " + enemy.shots() + " shots with "
+                    + board.remainingShipCells() + " enemy ship cells afloat.");
         }
     }
-    // Validates input for coordinates
-    private static boolean isValidInput(String input) {
-        if (input.length() < 2 || input.length() > 3) return false;
-        char rowChar = input.charAt(0);
-        if (rowChar < 'A' || rowChar > 'J') return false;
-        try {
-            int col = Integer.parseInt(input.substring(1));
-            return col >= 1 && col <= 10;
-        } catch (NumberFormatException e) {
+    // Replays a recorded game against a new game from the same seed and checks that the fleets, every
+    // result and every computer choice come out the same
+    static boolean replay(Path path) throws IOException {
+        ReplayLog log = ReplayLog.load(path);
+        BattleshipGame game = new BattleshipGame(log.config(), log.vsComputer(), log.seed());
+        if (!log.matchesPlacement(game.enemy.board()) || (game.home != null && !log.matchesPlacement(game.home.board()))) {
+            System.out.println("Replay differs: the fleets were placed differently");
             return false;
         }
-    }
-    // Places three ships of different sizes
-    private static void placeAllShips() {
-        placeShip(4); // Large ship
-        placeShip(3); // Medium ship
-        placeShip(2); // Small ship
-    }
-    // Place a ship of a given size randomly on the grid
-    private static void placeShip(int size) {
-        Random rand = new Random();
-        boolean placed = false;
-
-        while (!placed) {
-            int row = rand.nextInt(GRID_SIZE);
-            int col = rand.nextInt(GRID_SIZE);
-            boolean horizontal = rand.nextBoolean();
-
-            if (canPlaceShip(row, col, size, horizontal)) {
-                Ship ship = new Ship(size);
-                for (int i = 0; i < size; i++) {
-                    int r = row + (horizontal ? 0 : i);
-                    int c = col + (horizontal ? i : 0);
-                    shipGrid[r][c] = 'S';// Mark grid with S for ship
-                    ship.coordinates.add(new int[]{r, c});
+        int cells = log.config().rows() * log.config().cols();
+        int cols = log.config().cols();
+        int shots = 0;
+        while (log.hasShot()) {
+            long shot = log.nextShot();
+            shots++;
+            int cell = ReplayLog.cell(shot);
+            Board.Shot result;
+            if (cell >= cells) {
+                System.out.println("Replay differs at shot " + shots + ": cell " + cell + " is off the board");
+                return false;
+            }
+            if (ReplayLog.byComputer(shot)) {
+                int chosen = game.computer == null ? -1 : game.computer.nextShot();
+                if (chosen != cell) {
+                    System.out.println("Replay differs at shot " + shots + ": the computer now fires at cell " + chosen
+                            + ", not " + cell);
+                    return false;
                 }
-                ships.add(ship);// Add to list of ships
-                placed = true;
+                result = game.home.fire(cell, game.computer);
+            } else {
+                result = game.enemy.fire(cell / cols, cell % cols);
+            }
+            if (result != ReplayLog.result(shot)) {
+                System.out.println("Replay differs at shot " + shots + ": recorded " + ReplayLog.result(shot) + ", now " + result);
+                return false;
             }
         }
-    }
-    // Check if a ship can be placed at a specific location
-    private static boolean canPlaceShip(int row, int col, int size, boolean horizontal) {
-        if (horizontal && col + size > GRID_SIZE) return false;
-        if (!horizontal && row + size > GRID_SIZE) return false;
-
-        for (int i = 0; i < size; i++) {
-            int r = row + (horizontal ? 0 : i);
-            int c = col + (horizontal ? i : 0);
-            if (shipGrid[r][c] == 'S') return false; // Cannot place on another ship
-        }
+        String outcome = game.enemy.isOver() ? "the player won" : game.home != null && game.home.isOver() ? "the computer won" : "unfinished";
+        System.out.println("Replay verified: seed " + log.seed() + ", " + shots + " shots, " + outcome);
         return true;
     }
-    // Update the ship's hit count and check if it's sunk
-    private static void updateShipStatus(int hitRow, int hitCol) {
-        for (Ship ship : ships) {
-            for (int[] coord : ship.coordinates) {
-                if (coord[0] == hitRow && coord[1] == hitCol) {
-                    ship.hits++;
-                    if (ship.isSunk()) {
-                        System.out.println("You sunk my battleship!");
-                    }
-                    return;
-                }
-            }
+    // Fires the player's shot and lets the computer answer; results go to the messages and the replay log
+    private void fire(int row, int col) {
+        lastRow = row;
+        lastCol = col;
+        // Check for hit or miss; the hint learns from the same result
+        int cell = enemy.board().cell(row, col);
+        Board.Shot shot = hint != null ? enemy.fire(cell, hint) : enemy.fire(row, col);
+        if (log != null) log.shot(false, cell, shot);
+        messages.append("You fire at ");
+        Coordinates.appendRowLabel(messages, row).append(col + 1).append(": ");
+        switch (shot) {
+            case REPEAT -> messages.append("You already tried that spot.\n");// Prevent guessing the same spot
+            case MISS -> messages.append("Miss!\n");
+            case HIT -> messages.append("Hit!\n");
+            case SUNK -> messages.append("Hit! You sunk my battleship!\n");
+        }
+        if (home != null && shot != Board.Shot.REPEAT && !enemy.isOver()) {
+            computerTurn();
         }
     }
-    // Check if all ships are sunk
-    private static boolean allShipsSunk() {
-        for (Ship ship : ships) {
-            if (!ship.isSunk()) return false;
+    // Over once either fleet is sunk
+    private boolean isOver() {
+        return enemy.isOver() || (home != null && home.isOver());
+    }
+    // The computer fires at the player's fleet and learns from the result
+    private void computerTurn() {
+        int cell = computer.nextShot();
+        int cols = home.board().cols();
+        messages.append("Computer fires at ");
+        Coordinates.appendRowLabel(messages, cell / cols).append(cell % cols + 1).append(": ");
+        Board.Shot shot = home.fire(cell, computer);
+        if (log != null) log.shot(true, cell, shot);
+        switch (shot) {
+            case MISS, REPEAT -> messages.append("Miss!\n");
+            case HIT -> messages.append("Hit!\n");
+            case SUNK -> messages.append("Hit! Your ship went down!\n");
         }
-        return true;
     }
 }
@@ -0,0 +1,349 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Serves Battleship games over TCP, one game per connection, with a line protocol:
+//   NEW [seed]      -> OK <rows> <cols> <fleet>        starts (or restarts) a game
+//   FIRE <coord>    -> MISS | HIT | REPEAT | SUNK <size> <coord> <H|V> | WIN <shots>
+//   QUIT            -> BYE
+// Anything else gets ERR <reason>. Connections are spread over a few selector threads; each one
+// holds a fixed-size input and output buffer plus its game, so memory per connection is bounded.
+public class BattleshipServer {
+    // Longest request line accepted, including the newline
+    private static final int MAX_LINE = 128;
+    private static final int OUT_CAPACITY = 1024;
+
+    private static final byte[] MISS = bytes("MISS\n");
+    private static final byte[] HIT = bytes("HIT\n");
+    private static final byte[] REPEAT = bytes("REPEAT\n");
+    private static final byte[] BYE = bytes("BYE\n");
+    private static final byte[] NO_GAME = bytes("ERR no game, send NEW\n");
+    private static final byte[] BAD_COORDINATES = bytes("ERR bad coordinates\n");
+    private static final byte[] BAD_SEED = bytes("ERR bad seed\n");
+    private static final byte[] UNKNOWN = bytes("ERR unknown command\n");
+    private static final byte[] TOO_LONG = bytes("ERR line too long\n");
+    private static final byte[] FULL = bytes("ERR server full\n");
+
+    private final GameConfig config;
+    private final byte[] okLine;
+    // Room kept free in the output buffer before another request is handled; OK lists the whole fleet
+    private final int maxResponse;
+    private final int maxSessions;
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    // Per-connection state, attached to its selection key
+    private static final class Session {
+        final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+        final ByteBuffer out;
+        GameEngine game;
+        // Skipping the rest of a line that didn't fit in the input buffer
+        boolean discarding;
+        boolean closing;
+
+        Session(int outCapacity) {
+            out = ByteBuffer.allocate(outCapacity);
+        }
+    }
+
+    public BattleshipServer(GameConfig config, int maxSessions) {
+        this.config = config;
+        this.maxSessions = maxSessions;
+        StringBuilder ok = new StringBuilder("OK ").append(config.rows()).append(' ').append(config.cols()).append(' ');
+        int[] fleet = config.fleet();
+        for (int i = 0; i < fleet.length; i++) {
+            if (i > 0) ok.append(',');
+            ok.append(fleet[i]);
+        }
+        this.okLine = bytes(ok.append('\n').toString());
+        this.maxResponse = Math.max(64, okLine.length);
+    }
+
+    public static void main(String[] args) throws IOException {
+        GameConfig config = new GameConfig();
+        int port = 7777;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxSessions = 100_000;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--port" -> port = GameConfig.parseNumber(value);
+                    case "--threads" -> threads = Math.max(1, GameConfig.parseNumber(value));
+                    case "--max-sessions" -> maxSessions = GameConfig.parseNumber(value);
+                    default -> {
+                        if (!config.accept(args[i], value)) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    }
+                }
+            }
+            config.validate();
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: java BattleshipServer [--port N] [--threads N] [--max-sessions N] " + GameConfig.USAGE);
+            return;
+        }
+        new BattleshipServer(config, maxSessions).serve(port, threads);
+    }
+
+    // Accepts on the calling thread and hands each connection to a selector thread in turn
+    public void serve(int port, int threads) throws IOException {
+        Worker[] workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker();
+            Thread thread = new Thread(workers[i], "battleship-selector-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(port), 1024);
+            System.out.println("Battleship server listening on port " + port + " with " + threads + " selector threads");
+            for (int next = 0; ; next = (next + 1) % threads) {
+                SocketChannel channel = server.accept();
+                if (sessions.incrementAndGet() > maxSessions) {
+                    sessions.decrementAndGet();
+                    channel.write(ByteBuffer.wrap(FULL));
+                    channel.close();
+                    continue;
+                }
+                workers[next].add(channel);
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        // Lets Coordinates.parse read the request bytes without copying them
+        private final AsciiView view = new AsciiView();
+        private final StringBuilder text = new StringBuilder();
+
+        Worker() throws IOException {
+            selector = Selector.open();
+        }
+
+        void add(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    selector.select();
+                    for (SocketChannel channel; (channel = pending.poll()) != null; ) {
+                        channel.configureBlocking(false);
+                        channel.register(selector, SelectionKey.OP_READ, new Session(Math.max(OUT_CAPACITY, 2 * maxResponse)));
+                    }
+                    for (var it = selector.selectedKeys().iterator(); it.hasNext(); ) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        try {
+                            if (key.isReadable()) read(key);
+                            if (key.isValid() && key.isWritable()) {
+                                flush(key);
+                                if (key.isValid()) handleLines(key);
+                            }
+                        } catch (IOException e) {
+                            close(key);
+                        }
+                    }
+                } catch (IOException e) {
+                    System.out.println("Selector failed: " + e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        private void read(SelectionKey key) throws IOException {
+            Session session = (Session) key.attachment();
+            if (((SocketChannel) key.channel()).read(session.in) < 0) {
+                close(key);
+                return;
+            }
+            handleLines(key);
+        }
+
+        // Answers every complete line in the input buffer while there is room for the answers
+        private void handleLines(SelectionKey key) throws IOException {
+            Session session = (Session) key.attachment();
+            ByteBuffer in = session.in;
+            in.flip();
+            byte[] bytes = in.array();
+            while (!session.closing && session.out.remaining() >= maxResponse) {
+                int start = in.position();
+                int end = start;
+                while (end < in.limit() && bytes[end] != '\n') end++;
+                if (end == in.limit()) {
+                    if (session.discarding) {
+                        in.position(end);
+                    } else if (start == 0 && end == in.capacity()) {
+                        // A full buffer without a newline: the line can never fit, so skip to its end
+                        session.out.put(TOO_LONG);
+                        session.discarding = true;
+                        in.position(end);
+                    }
+                    break;
+                }
+                in.position(end + 1);
+                if (session.discarding) {
+                    session.discarding = false;
+                    continue;
+                }
+                if (end > start && bytes[end - 1] == '\r') end--;
+                handle(session, bytes, start, end);
+            }
+            in.compact();
+            flush(key);
+        }
+
+        private void handle(Session session, byte[] line, int start, int end) {
+            ByteBuffer out = session.out;
+            if (startsWith(line, start, end, "FIRE ")) {
+                if (session.game == null) {
+                    out.put(NO_GAME);
+                    return;
+                }
+                Board board = session.game.board();
+                long coordinates = Coordinates.parse(view.wrap(line, start + 5, end), board.rows(), board.cols());
+                if (coordinates == Coordinates.INVALID) {
+                    out.put(BAD_COORDINATES);
+                    return;
+                }
+                int row = Coordinates.row(coordinates);
+                int col = Coordinates.col(coordinates);
+                switch (session.game.fire(row, col)) {
+                    case MISS -> out.put(MISS);
+                    case HIT -> out.put(HIT);
+                    case REPEAT -> out.put(REPEAT);
+                    case SUNK -> {
+                        text.setLength(0);
+                        if (session.game.isOver()) {
+                            text.append("WIN ").append(session.game.shots());
+                        } else {
+                            int id = board.shipAt(row, col);
+                            text.append("SUNK ").append(board.shipSize(id)).append(' ');
+                            Coordinates.appendRowLabel(text, board.shipRow(id)).append(board.shipCol(id) + 1);
+                            text.append(board.isHorizontal(id) ? " H" : " V");
+                        }
+                        putAscii(out, text.append('\n'));
+                    }
+                }
+            } else if (startsWith(line, start, end, "NEW")) {
+                long seed = ThreadLocalRandom.current().nextLong();
+                if (end > start + 3) {
+                    if (line[start + 3] != ' ' || (seed = parseSeed(line, start + 4, end)) == Long.MIN_VALUE) {
+                        out.put(BAD_SEED);
+                        return;
+                    }
+                }
+                session.game = new GameEngine(config, seed);
+                out.put(okLine);
+            } else if (startsWith(line, start, end, "QUIT")) {
+                out.put(BYE);
+                session.closing = true;
+            } else {
+                out.put(UNKNOWN);
+            }
+        }
+
+        // Writes what the socket takes; reading pauses while answers are waiting to go out
+        private void flush(SelectionKey key) throws IOException {
+            Session session = (Session) key.attachment();
+            ByteBuffer out = session.out;
+            out.flip();
+            ((SocketChannel) key.channel()).write(out);
+            out.compact();
+            if (out.position() > 0) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else if (session.closing) {
+                close(key);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void close(SelectionKey key) {
+            if (!key.channel().isOpen()) return;
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException ignored) {
+                // Already gone
+            }
+            sessions.decrementAndGet();
+        }
+    }
+
+    private static boolean startsWith(byte[] line, int start, int end, String prefix) {
+        if (end - start < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (line[start + i] != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // Parses an optionally negative decimal long, or returns Long.MIN_VALUE
+    private static long parseSeed(byte[] line, int start, int end) {
+        boolean negative = start < end && line[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > 18) return Long.MIN_VALUE;
+        long value = 0;
+        for (; i < end; i++) {
+            if (line[i] < '0' || line[i] > '9') return Long.MIN_VALUE;
+            value = value * 10 + (line[i] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private static void putAscii(ByteBuffer out, CharSequence text) {
+        for (int i = 0; i < text.length(); i++) out.put((byte) text.charAt(i));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Reusable CharSequence over a range of ASCII bytes
+    static final class AsciiView implements CharSequence {
+        private byte[] bytes;
+        private int start;
+        private int end;
+
+        AsciiView wrap(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[start + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new AsciiView().wrap(bytes, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+        }
+    }
+}
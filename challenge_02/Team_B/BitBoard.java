@@ -0,0 +1,76 @@
+import java.util.Arrays;
+
+// A set of cells on a rows x cols board, packed 64 cells to a long in row-major order
+public class BitBoard {
+    private final int rows;
+    private final int cols;
+    private final long[] words;
+
+    public BitBoard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.words = new long[wordsFor(rows, cols)];
+    }
+
+    // Number of longs needed to hold one bit per cell
+    public static int wordsFor(int rows, int cols) {
+        return (rows * cols + 63) >>> 6;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int cell(int row, int col) {
+        return row * cols + col;
+    }
+
+    public boolean get(int cell) {
+        return (words[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public void set(int cell) {
+        words[cell >>> 6] |= 1L << cell;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    // True if any cell of the mask starting at offset is also in this board
+    public boolean intersects(long[] masks, int offset) {
+        long any = 0;
+        for (int i = 0; i < words.length; i++) {
+            any |= words[i] & masks[offset + i];
+        }
+        return any != 0;
+    }
+
+    // True if every cell of the mask starting at offset is in this board
+    public boolean covers(long[] masks, int offset) {
+        long missing = 0;
+        for (int i = 0; i < words.length; i++) {
+            long mask = masks[offset + i];
+            missing |= mask & ~words[i];
+        }
+        return missing == 0;
+    }
+
+    public void add(long[] masks, int offset) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= masks[offset + i];
+        }
+    }
+
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
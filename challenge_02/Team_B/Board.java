@@ -0,0 +1,139 @@
+import java.util.Arrays;
+
+// One player's grid: where the ships are, which cells have been shot and how many ship cells are left.
+// Cells are numbered row * cols + col; subclasses decide how ship ids and shots are stored.
+public abstract class Board {
+    public enum Shot { MISS, HIT, SUNK, REPEAT }
+
+    public static final int NO_SHIP = -1;
+    public static final int MAX_DIMENSION = 10_000;
+    // Boards with more cells than this only store ship cells and shots
+    public static final int DENSE_CELL_LIMIT = 1 << 20;
+
+    protected final int rows;
+    protected final int cols;
+    // Ships as parallel arrays indexed by ship id
+    private int[] shipSize = new int[8];
+    private int[] shipHits = new int[8];
+    // First cell and orientation of each ship, so a sunk ship can be shown
+    private int[] shipStart = new int[8];
+    private boolean[] shipHorizontal = new boolean[8];
+    private int shipCount = 0;
+    // Ship cells not hit yet; the game is over when it reaches zero
+    private int remainingShipCells = 0;
+
+    protected Board(int rows, int cols) {
+        if (rows < 1 || cols < 1 || rows > MAX_DIMENSION || cols > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Board must be between 1x1 and " + MAX_DIMENSION + "x" + MAX_DIMENSION);
+        }
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    // Picks bitboard storage for small boards and hashed storage for large ones
+    public static Board create(int rows, int cols) {
+        return (long) rows * cols <= DENSE_CELL_LIMIT ? new DenseBoard(rows, cols) : new SparseBoard(rows, cols);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int cell(int row, int col) {
+        return row * cols + col;
+    }
+
+    // Check if a ship fits on the grid at this position without touching another ship
+    public boolean canPlace(int row, int col, int size, boolean horizontal) {
+        if (size < 1 || row < 0 || col < 0) return false;
+        if (horizontal ? col + size > cols || row >= rows : row + size > rows || col >= cols) return false;
+        return isFree(row, col, size, horizontal);
+    }
+
+    // Adds a ship that canPlace accepted and returns its id
+    public int place(int row, int col, int size, boolean horizontal) {
+        int id = shipCount++;
+        if (id == shipSize.length) {
+            shipSize = Arrays.copyOf(shipSize, id * 2);
+            shipHits = Arrays.copyOf(shipHits, id * 2);
+            shipStart = Arrays.copyOf(shipStart, id * 2);
+            shipHorizontal = Arrays.copyOf(shipHorizontal, id * 2);
+        }
+        shipSize[id] = size;
+        shipHits[id] = 0;
+        shipStart[id] = cell(row, col);
+        shipHorizontal[id] = horizontal;
+        remainingShipCells += size;
+        markShip(row, col, size, horizontal, id);
+        return id;
+    }
+
+    public Shot fire(int row, int col) {
+        int cell = cell(row, col);
+        if (!markShot(cell)) return Shot.REPEAT;
+        int id = shipAt(cell);
+        if (id == NO_SHIP) return Shot.MISS;
+        remainingShipCells--;
+        return ++shipHits[id] == shipSize[id] ? Shot.SUNK : Shot.HIT;
+    }
+
+    public boolean isShot(int row, int col) {
+        return isShot(cell(row, col));
+    }
+
+    public boolean hasShip(int row, int col) {
+        return shipAt(cell(row, col)) != NO_SHIP;
+    }
+
+    public int shipAt(int row, int col) {
+        return shipAt(cell(row, col));
+    }
+
+    public int shipCount() {
+        return shipCount;
+    }
+
+    public int shipSize(int id) {
+        return shipSize[id];
+    }
+
+    public int shipRow(int id) {
+        return shipStart[id] / cols;
+    }
+
+    public int shipCol(int id) {
+        return shipStart[id] % cols;
+    }
+
+    public boolean isHorizontal(int id) {
+        return shipHorizontal[id];
+    }
+
+    public boolean isSunk(int id) {
+        return shipHits[id] == shipSize[id];
+    }
+
+    public int remainingShipCells() {
+        return remainingShipCells;
+    }
+
+    public boolean allShipsSunk() {
+        return remainingShipCells == 0;
+    }
+
+    // True if none of the ship's cells is taken; bounds are already checked
+    protected abstract boolean isFree(int row, int col, int size, boolean horizontal);
+
+    protected abstract void markShip(int row, int col, int size, boolean horizontal, int id);
+
+    protected abstract int shipAt(int cell);
+
+    protected abstract boolean isShot(int cell);
+
+    // Records a shot, returning false if the cell was already shot
+    protected abstract boolean markShot(int cell);
+}
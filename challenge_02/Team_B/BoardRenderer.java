@@ -0,0 +1,240 @@
+import java.io.PrintStream;
+import java.util.Arrays;
+
+// Builds each screen in one reusable buffer and writes it with a single call. With ANSI escapes the
+// screen is drawn once and later frames only rewrite the characters that changed since the last one.
+// Frames taller than the terminal scroll it, so those are always cleared and drawn in full.
+// Frames are plain ASCII: any other character is written as '?'.
+public class BoardRenderer {
+    // Symbols used in the game
+    private static final char WATER = '~';
+    private static final char HIT = 'X';
+    private static final char MISS = 'O';
+    private static final char SHIP = 'S';
+    // Larger boards are shown as a window of this many rows and columns around the focus cell
+    private static final int VIEW_SIZE = 26;
+    private static final char ESC = '\u001b';
+    // Terminal height assumed when LINES isn't set
+    private static final int DEFAULT_SCREEN_ROWS = 24;
+
+    private final PrintStream out;
+    private final boolean ansi;
+    private final int screenRows;
+    // The frame being built and the one on screen, with the start offset of each of their lines
+    private StringBuilder frame = new StringBuilder(4096);
+    private StringBuilder shown = new StringBuilder(4096);
+    private int[] lineStarts = new int[64];
+    private int[] shownStarts = new int[64];
+    private int shownLines = 0;
+    // What actually goes out: the whole frame, or only the escapes and changed text
+    private final StringBuilder output = new StringBuilder(4096);
+    private byte[] bytes = new byte[4096];
+    private boolean drawn = false;
+
+    public BoardRenderer(PrintStream out, boolean ansi) {
+        this(out, ansi, screenRows());
+    }
+
+    // screenRows is the terminal height: taller frames are redrawn in full
+    public BoardRenderer(PrintStream out, boolean ansi, int screenRows) {
+        this.out = out;
+        this.ansi = ansi;
+        this.screenRows = screenRows;
+    }
+
+    // Adds a board, or the part of it around (focusRow, focusCol) on big boards; showShips reveals unhit ships
+    public BoardRenderer board(Board board, boolean showShips, int focusRow, int focusCol) {
+        int rows = board.rows();
+        int cols = board.cols();
+        int height = Math.min(rows, VIEW_SIZE);
+        int width = Math.min(cols, VIEW_SIZE);
+        int top = Math.max(0, Math.min(focusRow - height / 2, rows - height));
+        int left = Math.max(0, Math.min(focusCol - width / 2, cols - width));
+        int labelWidth = labelLength(top + height - 1);
+        int cellWidth = digits(left + width);
+        // Column numbers
+        pad(labelWidth + 1);
+        for (int col = left; col < left + width; col++) {
+            frame.append(col + 1);
+            pad(cellWidth - digits(col + 1) + 1);
+        }
+        frame.append('\n');
+        // Each row with its letters
+        for (int row = top; row < top + height; row++) {
+            int labelStart = frame.length();
+            Coordinates.appendRowLabel(frame, row);
+            pad(labelWidth - (frame.length() - labelStart) + 1);
+            for (int col = left; col < left + width; col++) {
+                char symbol;
+                if (board.isShot(row, col)) symbol = board.hasShip(row, col) ? HIT : MISS;
+                else symbol = showShips && board.hasShip(row, col) ? SHIP : WATER;
+                frame.append(symbol);
+                pad(cellWidth);
+            }
+            frame.append('\n');
+        }
+        return this;
+    }
+
+    // Adds the chance of a ship on every cell as a percentage; cells already shot show their result
+    public BoardRenderer heatmap(Board board, double[] probabilities) {
+        int rows = board.rows();
+        int cols = board.cols();
+        int labelWidth = labelLength(rows - 1);
+        pad(labelWidth + 1);
+        for (int col = 0; col < cols; col++) {
+            pad(3 - digits(col + 1));
+            frame.append(col + 1).append(' ');
+        }
+        frame.append('\n');
+        for (int row = 0; row < rows; row++) {
+            int labelStart = frame.length();
+            Coordinates.appendRowLabel(frame, row);
+            pad(labelWidth - (frame.length() - labelStart) + 1);
+            for (int col = 0; col < cols; col++) {
+                if (board.isShot(row, col)) {
+                    pad(2);
+                    frame.append(board.hasShip(row, col) ? HIT : MISS);
+                } else {
+                    int percent = (int) Math.round(probabilities[board.cell(row, col)] * 100);
+                    pad(3 - digits(percent));
+                    frame.append(percent);
+                }
+                frame.append(' ');
+            }
+            frame.append('\n');
+        }
+        return this;
+    }
+
+    public BoardRenderer line(CharSequence text) {
+        frame.append(text).append('\n');
+        return this;
+    }
+
+    // Adds text as is, e.g. a prompt that input should follow on the same line
+    public BoardRenderer text(CharSequence text) {
+        frame.append(text);
+        return this;
+    }
+
+    // Writes the frame built so far and starts an empty one
+    public void flush() {
+        output.setLength(0);
+        int lines = splitLines();
+        if (!ansi) {
+            output.append(frame);
+        } else if (!drawn || lines > screenRows || shownLines > screenRows) {
+            // Positions on screen are only known when the frames before and after both fit
+            output.append(ESC).append("[H").append(ESC).append("[2J").append(frame);
+            drawn = true;
+        } else {
+            appendChanges(lines);
+        }
+        write();
+        shownLines = lines;
+        StringBuilder swap = shown;
+        shown = frame;
+        frame = swap;
+        frame.setLength(0);
+        int[] swapStarts = shownStarts;
+        shownStarts = lineStarts;
+        lineStarts = swapStarts;
+    }
+
+    // Records where each line of the frame starts and returns the number of lines
+    private int splitLines() {
+        int count = 0;
+        lineStarts[count++] = 0;
+        for (int i = 0; i < frame.length(); i++) {
+            if (frame.charAt(i) != '\n') continue;
+            if (count == lineStarts.length) lineStarts = Arrays.copyOf(lineStarts, count * 2);
+            lineStarts[count++] = i + 1;
+        }
+        return count;
+    }
+
+    private void appendChanges(int lines) {
+        int previousLines = shownLines;
+        for (int line = 0; line < lines; line++) {
+            int start = lineStarts[line];
+            int end = lineEnd(frame, lineStarts, lines, line);
+            // The old last line also holds whatever was typed after the prompt, so it is redrawn whole
+            if (line >= previousLines - 1 || line == lines - 1) {
+                moveTo(line, 0);
+                output.append(frame, start, end).append(ESC).append(line == lines - 1 ? "[J" : "[K");
+                continue;
+            }
+            int shownStart = shownStarts[line];
+            int length = end - start;
+            int shownLength = lineEnd(shown, shownStarts, previousLines, line) - shownStart;
+            int common = Math.min(length, shownLength);
+            for (int col = 0; col < common; ) {
+                if (frame.charAt(start + col) == shown.charAt(shownStart + col)) {
+                    col++;
+                    continue;
+                }
+                int from = col;
+                while (col < common && frame.charAt(start + col) != shown.charAt(shownStart + col)) col++;
+                moveTo(line, from);
+                output.append(frame, start + from, start + col);
+            }
+            if (length > shownLength) {
+                moveTo(line, shownLength);
+                output.append(frame, start + shownLength, end);
+            } else if (length < shownLength) {
+                moveTo(line, length);
+                output.append(ESC).append("[K");
+            }
+        }
+    }
+
+    private static int lineEnd(StringBuilder text, int[] starts, int lines, int line) {
+        return line + 1 < lines ? starts[line + 1] - 1 : text.length();
+    }
+
+    private void moveTo(int line, int col) {
+        output.append(ESC).append('[').append(line + 1).append(';').append(col + 1).append('H');
+    }
+
+    private void write() {
+        int length = output.length();
+        if (bytes.length < length) bytes = new byte[Math.max(length, bytes.length * 2)];
+        for (int i = 0; i < length; i++) {
+            char c = output.charAt(i);
+            bytes[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        out.write(bytes, 0, length);
+        out.flush();
+    }
+
+    // The shell exports LINES only sometimes, so the usual terminal height stands in for it
+    private static int screenRows() {
+        try {
+            String lines = System.getenv("LINES");
+            return lines == null ? DEFAULT_SCREEN_ROWS : Math.max(1, Integer.parseInt(lines.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_SCREEN_ROWS;
+        }
+    }
+
+    private void pad(int spaces) {
+        for (int i = 0; i < spaces; i++) frame.append(' ');
+    }
+
+    // Same count as the letters Coordinates.appendRowLabel writes
+    private static int labelLength(int row) {
+        int length = 0;
+        for (int n = row + 1; n > 0; n = (n - 1) / 26) length++;
+        return length;
+    }
+
+    private static int digits(int n) {
+        int length = 1;
+        while (n >= 10) {
+            n /= 10;
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.Arrays;
+
+// Open-addressing map from cell number to int, without boxing. Cell numbers are never negative.
+public class CellMap {
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size = 0;
+
+    public CellMap() {
+        keys = new int[16];
+        values = new int[16];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int get(int cell, int missing) {
+        int mask = keys.length - 1;
+        for (int i = mix(cell) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == cell) return values[i];
+            if (keys[i] == EMPTY) return missing;
+        }
+    }
+
+    public boolean containsKey(int cell) {
+        int mask = keys.length - 1;
+        for (int i = mix(cell) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == cell) return true;
+            if (keys[i] == EMPTY) return false;
+        }
+    }
+
+    // Stores the value, returning false if the cell was already present
+    public boolean put(int cell, int value) {
+        int mask = keys.length - 1;
+        int i = mix(cell) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == cell) {
+                values[i] = value;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = cell;
+        values[i] = value;
+        // Keep the table at most half full so probe runs stay short
+        if (++size * 2 > keys.length) grow();
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == EMPTY) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (keys[i] != EMPTY) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    // Spreads neighbouring cells (ships are runs of consecutive numbers) across the table
+    private static int mix(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,68 @@
+// Coordinates like "B7" or "AB120": spreadsheet-style row letters (A..Z, AA, AB, ...) then a 1-based column.
+// Parsing walks the characters once, with no substrings and no exceptions on bad input.
+public final class Coordinates {
+    public static final long INVALID = -1;
+
+    private Coordinates() {}
+
+    // Returns the 0-based row and column packed by pack(), or INVALID
+    public static long parse(CharSequence input, int rows, int cols) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && Character.isWhitespace(input.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) end--;
+
+        int i = start;
+        long row = 0;
+        for (; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+            if (c < 'A' || c > 'Z') break;
+            row = row * 26 + (c - 'A' + 1);
+            if (row > rows) return INVALID; // Also stops long labels from overflowing
+        }
+        if (i == start) return INVALID;
+
+        int digits = i;
+        long col = 0;
+        for (; i < end; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') return INVALID;
+            col = col * 10 + (c - '0');
+            if (col > cols) return INVALID;
+        }
+        if (i == digits || col < 1) return INVALID;
+        return pack((int) row - 1, (int) col - 1);
+    }
+
+    public static long pack(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+
+    public static int row(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    public static int col(long packed) {
+        return (int) packed;
+    }
+
+    // Appends the letters for a 0-based row: 0 -> A, 25 -> Z, 26 -> AA
+    public static StringBuilder appendRowLabel(StringBuilder sb, int row) {
+        int start = sb.length();
+        for (int n = row + 1; n > 0; n = (n - 1) / 26) {
+            sb.append((char) ('A' + (n - 1) % 26));
+        }
+        // Letters came out least significant first
+        for (int lo = start, hi = sb.length() - 1; lo < hi; lo++, hi--) {
+            char tmp = sb.charAt(lo);
+            sb.setCharAt(lo, sb.charAt(hi));
+            sb.setCharAt(hi, tmp);
+        }
+        return sb;
+    }
+
+    public static String format(int row, int col) {
+        return appendRowLabel(new StringBuilder(), row).append(col + 1).toString();
+    }
+}
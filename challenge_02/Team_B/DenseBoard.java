@@ -0,0 +1,61 @@
+import java.util.Arrays;
+
+// Board with a bit per cell for shots and ships plus a ship id per cell
+public class DenseBoard extends Board {
+    // Ship masks are precomputed only while they stay small
+    private static final int MASK_CELL_LIMIT = 256;
+
+    private final BitBoard shots;
+    private final BitBoard shipCells;
+    private final int[] shipAt;
+    private final ShipMasks shipMasks;
+
+    public DenseBoard(int rows, int cols) {
+        super(rows, cols);
+        shots = new BitBoard(rows, cols);
+        shipCells = new BitBoard(rows, cols);
+        shipAt = new int[rows * cols];
+        Arrays.fill(shipAt, NO_SHIP);
+        shipMasks = rows * cols <= MASK_CELL_LIMIT ? ShipMasks.of(rows, cols) : null;
+    }
+
+    @Override
+    protected boolean isFree(int row, int col, int size, boolean horizontal) {
+        if (shipMasks != null) {
+            return !shipCells.intersects(shipMasks.masks(), shipMasks.placement(size, row, col, horizontal));
+        }
+        int cell = cell(row, col);
+        int step = horizontal ? 1 : cols;
+        for (int i = 0; i < size; i++, cell += step) {
+            if (shipCells.get(cell)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected void markShip(int row, int col, int size, boolean horizontal, int id) {
+        int cell = cell(row, col);
+        int step = horizontal ? 1 : cols;
+        for (int i = 0; i < size; i++, cell += step) {
+            shipCells.set(cell);
+            shipAt[cell] = id;
+        }
+    }
+
+    @Override
+    protected int shipAt(int cell) {
+        return shipAt[cell];
+    }
+
+    @Override
+    protected boolean isShot(int cell) {
+        return shots.get(cell);
+    }
+
+    @Override
+    protected boolean markShot(int cell) {
+        if (shots.get(cell)) return false;
+        shots.set(cell);
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Computer player that fires at the cell most likely to hold a ship. For every ship still afloat it
+// counts the placements that agree with what it has seen: none may cover a miss or a sunk ship.
+// In hunt mode every such placement counts once. Once a ship is hit but not sunk (target mode), only
+// placements through the open hits count, weighted by how many of them they cover.
+// Each placement is one AND against the board words over precomputed ship masks.
+public class DensityAI implements ShotStrategy {
+    // Ship masks are only precomputed for boards up to this many cells (16x16)
+    public static final int MAX_CELLS = 256;
+
+    private final int rows;
+    private final int cols;
+    private final int words;
+    private final ShipMasks shipMasks;
+    private final long[] masks;
+    private final long[] shots;
+    private final long[] hits;
+    // Misses and the cells of sunk ships: no afloat ship can cover them
+    private final long[] blocked;
+    // Hits on ships not sunk yet, refreshed on every call
+    private final long[] openHits;
+    // Number of ships afloat per length
+    private final int[] afloat;
+    private final int[] density;
+    private final Random rnd;
+
+    public DensityAI(int rows, int cols, int[] fleet, Random rnd) {
+        if (rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("The computer opponent plays on boards of up to " + MAX_CELLS + " cells");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.words = BitBoard.wordsFor(rows, cols);
+        this.shipMasks = ShipMasks.of(rows, cols);
+        this.masks = shipMasks.masks();
+        this.shots = new long[words];
+        this.hits = new long[words];
+        this.blocked = new long[words];
+        this.openHits = new long[words];
+        this.afloat = new int[shipMasks.maxLength() + 1];
+        for (int size : fleet) afloat[size]++;
+        this.density = new int[words * 64];
+        this.rnd = rnd;
+    }
+
+    // Picks the unshot cell with the highest placement count, breaking ties at random
+    @Override
+    public int nextShot() {
+        boolean target = false;
+        for (int w = 0; w < words; w++) {
+            openHits[w] = hits[w] & ~blocked[w];
+            target |= openHits[w] != 0;
+        }
+        int best = target ? accumulate(openHits) : -1;
+        // Hits left that no placement explains fall back to hunting
+        if (best < 0) best = accumulate(null);
+        if (best < 0) best = firstUnshot();
+        return best;
+    }
+
+    @Override
+    public void miss(int cell) {
+        shots[cell >>> 6] |= 1L << cell;
+        blocked[cell >>> 6] |= 1L << cell;
+    }
+
+    @Override
+    public void hit(int cell) {
+        shots[cell >>> 6] |= 1L << cell;
+        hits[cell >>> 6] |= 1L << cell;
+    }
+
+    // The ship covering cell went down: its cells are now known and out of play
+    @Override
+    public void sunk(int cell, int size, int row, int col, boolean horizontal) {
+        hit(cell);
+        int placement = shipMasks.placement(size, row, col, horizontal);
+        for (int w = 0; w < words; w++) {
+            blocked[w] |= masks[placement + w];
+        }
+        afloat[size]--;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    // Fills density for every afloat placement (only those through openHits when given) and
+    // returns the densest unshot cell, or -1 if nothing was counted
+    private int accumulate(long[] openHits) {
+        Arrays.fill(density, 0);
+        for (int length = 1; length < afloat.length; length++) {
+            if (afloat[length] == 0) continue;
+            for (int p = shipMasks.start(length), end = shipMasks.end(length); p < end; p += words) {
+                long overlap = 0;
+                int covered = 0;
+                for (int w = 0; w < words; w++) {
+                    overlap |= masks[p + w] & blocked[w];
+                    if (openHits != null) covered += Long.bitCount(masks[p + w] & openHits[w]);
+                }
+                if (overlap != 0 || (openHits != null && covered == 0)) continue;
+                int weight = openHits == null ? afloat[length] : afloat[length] * covered * covered;
+                for (int w = 0; w < words; w++) {
+                    for (long bits = masks[p + w] & ~shots[w]; bits != 0; bits &= bits - 1) {
+                        density[(w << 6) + Long.numberOfTrailingZeros(bits)] += weight;
+                    }
+                }
+            }
+        }
+        int best = -1;
+        int ties = 0;
+        for (int cell = 0; cell < rows * cols; cell++) {
+            int d = density[cell];
+            if (d == 0 || (best >= 0 && d < density[best])) continue;
+            if (best >= 0 && d == density[best]) {
+                // Reservoir sampling over equally good cells
+                if (rnd.nextInt(++ties) == 0) best = cell;
+            } else {
+                best = cell;
+                ties = 1;
+            }
+        }
+        return best;
+    }
+
+    private int firstUnshot() {
+        for (int cell = 0; cell < rows * cols; cell++) {
+            if ((shots[cell >>> 6] & (1L << cell)) == 0) return cell;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,217 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Places a fleet on a new board in time bounded by the board size. Each ship, largest first, is put
+// at a position drawn uniformly from all positions still legal for it. A fleet that doesn't fit is
+// rejected: the check looks for an actual layout and only gives up when none exists or the search
+// runs out of steps.
+public final class FleetPlacer {
+    // Random draws tried before counting the legal positions exactly; enough on sparse boards
+    private static final int QUICK_TRIES = 32;
+    // Fresh boards tried when earlier ships leave no room for a later one
+    private static final int RESTARTS = 16;
+    // Work allowed when looking for a layout, in ship-to-line or ship-to-cell tries
+    private static final long LAYOUT_STEPS = 50_000_000L;
+
+    private FleetPlacer() {}
+
+    // Throws IllegalArgumentException if the fleet can't be placed on a rows x cols board
+    public static void checkFeasible(int rows, int cols, int[] fleet) {
+        checkSizes(rows, cols, fleet);
+        int[] sizes = fleet.clone();
+        Arrays.sort(sizes);
+        if (layout(rows, cols, sizes) == null) {
+            throw new IllegalArgumentException("The fleet cannot be placed on a " + rows + "x" + cols + " board");
+        }
+    }
+
+    public static Board place(int rows, int cols, int[] fleet, Random rnd) {
+        checkSizes(rows, cols, fleet);
+        int[] sizes = fleet.clone();
+        Arrays.sort(sizes);
+        for (int attempt = 0; attempt < RESTARTS; attempt++) {
+            Board board = Board.create(rows, cols);
+            boolean placed = true;
+            for (int i = sizes.length - 1; i >= 0 && placed; i--) {
+                placed = placeShip(board, sizes[i], rnd);
+            }
+            if (placed) return board;
+        }
+        // Random choices kept boxing themselves in: use a layout that is known to fit
+        int[] layout = layout(rows, cols, sizes);
+        if (layout == null) {
+            throw new IllegalArgumentException("The fleet cannot be placed on a " + rows + "x" + cols + " board");
+        }
+        return placeLayout(rows, cols, sizes, layout, rnd);
+    }
+
+    // The checks that need no search: every ship fits on the board and the board has enough cells
+    private static void checkSizes(int rows, int cols, int[] fleet) {
+        long cells = 0;
+        for (int size : fleet) {
+            if (size < 1) throw new IllegalArgumentException("Ship sizes must be positive");
+            if (size > Math.max(rows, cols)) {
+                throw new IllegalArgumentException("A ship of size " + size + " does not fit on a " + rows + "x" + cols + " board");
+            }
+            cells += size;
+        }
+        if (cells > (long) rows * cols) {
+            throw new IllegalArgumentException("The fleet needs " + cells + " cells but the board only has " + (long) rows * cols);
+        }
+    }
+
+    private static boolean placeShip(Board board, int size, Random rnd) {
+        int rows = board.rows();
+        int cols = board.cols();
+        // Drawing over every (row, col, orientation) and rejecting illegal ones is uniform over legal ones
+        for (int i = 0; i < QUICK_TRIES; i++) {
+            int row = rnd.nextInt(rows);
+            int col = rnd.nextInt(cols);
+            boolean horizontal = rnd.nextBoolean();
+            if (board.canPlace(row, col, size, horizontal)) {
+                board.place(row, col, size, horizontal);
+                return true;
+            }
+        }
+        long legal = countOrPick(board, size, -1);
+        if (legal == 0) return false;
+        countOrPick(board, size, (long) (rnd.nextDouble() * legal));
+        return true;
+    }
+
+    // Walks the free runs of every row and column. With pick < 0 returns the number of legal
+    // positions; otherwise places the ship at legal position number pick.
+    private static long countOrPick(Board board, int size, long pick) {
+        int rows = board.rows();
+        int cols = board.cols();
+        long seen = 0;
+        for (int horizontal = 1; horizontal >= 0; horizontal--) {
+            int lines = horizontal == 1 ? rows : cols;
+            int length = horizontal == 1 ? cols : rows;
+            if (size > length) continue;
+            for (int line = 0; line < lines; line++) {
+                int run = 0;
+                for (int i = 0; i < length; i++) {
+                    boolean taken = horizontal == 1 ? board.hasShip(line, i) : board.hasShip(i, line);
+                    run = taken ? 0 : run + 1;
+                    if (run < size) continue;
+                    // A legal position ends at i
+                    if (seen++ == pick) {
+                        int start = i - size + 1;
+                        if (horizontal == 1) board.place(line, start, size, true);
+                        else board.place(start, line, size, false);
+                        return seen;
+                    }
+                }
+            }
+        }
+        return seen;
+    }
+
+    // A layout for the ships (sizes ascending) as (row, col, horizontal) triples, or null if none was
+    // found. Tries, in order: full rows or full columns; the board split into a block of rows or
+    // columns filled along its lines and the rest filled across; and an exhaustive search.
+    static int[] layout(int rows, int cols, int[] sizes) {
+        long[] steps = {LAYOUT_STEPS};
+        for (int across = 0; across <= cols; across++) {
+            // rows lines of cols - across cells, then across columns of rows cells on the right
+            int[] lines = new int[(rows + across) * 4];
+            int n = 0;
+            if (across < cols) {
+                for (int row = 0; row < rows; row++) n = line(lines, n, row, 0, true, cols - across);
+            }
+            for (int col = cols - across; col < cols; col++) n = line(lines, n, 0, col, false, rows);
+            int[] layout = fill(sizes, Arrays.copyOf(lines, n), steps);
+            if (layout != null) return layout;
+            if (steps[0] < 0) return null;
+        }
+        for (int down = 1; down < rows; down++) {
+            // cols columns of rows - down cells, then down rows of cols cells at the bottom
+            int[] lines = new int[(cols + down) * 4];
+            int n = 0;
+            for (int col = 0; col < cols; col++) n = line(lines, n, 0, col, false, rows - down);
+            for (int row = rows - down; row < rows; row++) n = line(lines, n, row, 0, true, cols);
+            int[] layout = fill(sizes, lines, steps);
+            if (layout != null) return layout;
+            if (steps[0] < 0) return null;
+        }
+        int[] layout = new int[sizes.length * 3];
+        return search(new boolean[rows * cols], rows, cols, sizes, sizes.length - 1, 0, layout, steps) ? layout : null;
+    }
+
+    private static int line(int[] lines, int n, int row, int col, boolean horizontal, int length) {
+        lines[n] = row;
+        lines[n + 1] = col;
+        lines[n + 2] = horizontal ? 1 : 0;
+        lines[n + 3] = length;
+        return n + 4;
+    }
+
+    // First-fit decreasing of the ships into lines given as (row, col, horizontal, length) quadruples
+    private static int[] fill(int[] sizes, int[] lines, long[] steps) {
+        int count = lines.length / 4;
+        int[] used = new int[count];
+        int[] layout = new int[sizes.length * 3];
+        int firstOpen = 0;
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            int line = firstOpen;
+            while (line < count && used[line] + sizes[i] > lines[4 * line + 3]) line++;
+            steps[0] -= line - firstOpen + 1;
+            if (line == count || steps[0] < 0) return null;
+            boolean horizontal = lines[4 * line + 2] == 1;
+            layout[3 * i] = lines[4 * line] + (horizontal ? 0 : used[line]);
+            layout[3 * i + 1] = lines[4 * line + 1] + (horizontal ? used[line] : 0);
+            layout[3 * i + 2] = horizontal ? 1 : 0;
+            used[line] += sizes[i];
+            // Lines with no room for even the smallest ship are never looked at again
+            while (firstOpen < count && used[firstOpen] + sizes[0] > lines[4 * firstOpen + 3]) firstOpen++;
+        }
+        return layout;
+    }
+
+    // Tries every position for ship i (largest first) and the ships after it. Ships of the same size
+    // take positions in increasing order, so each set of positions is tried once.
+    private static boolean search(boolean[] taken, int rows, int cols, int[] sizes, int i, int from, int[] layout,
+                                  long[] steps) {
+        if (i < 0) return true;
+        int size = sizes[i];
+        for (int position = from; position < 2 * rows * cols; position++) {
+            if (--steps[0] < 0) return false;
+            int cell = position >> 1;
+            boolean horizontal = (position & 1) == 0;
+            int row = cell / cols;
+            int col = cell % cols;
+            if (horizontal ? col + size > cols : row + size > rows) continue;
+            int step = horizontal ? 1 : cols;
+            boolean free = true;
+            for (int k = 0, c = cell; k < size && free; k++, c += step) free = !taken[c];
+            if (!free) continue;
+            for (int k = 0, c = cell; k < size; k++, c += step) taken[c] = true;
+            int next = i > 0 && sizes[i - 1] == size ? position + 1 : 0;
+            if (search(taken, rows, cols, sizes, i - 1, next, layout, steps)) {
+                layout[3 * i] = row;
+                layout[3 * i + 1] = col;
+                layout[3 * i + 2] = horizontal ? 1 : 0;
+                return true;
+            }
+            for (int k = 0, c = cell; k < size; k++, c += step) taken[c] = false;
+        }
+        return false;
+    }
+
+    // Puts the ships where the layout says, mirrored at random along each axis
+    private static Board placeLayout(int rows, int cols, int[] sizes, int[] layout, Random rnd) {
+        boolean flipRows = rnd.nextBoolean();
+        boolean flipCols = rnd.nextBoolean();
+        Board board = Board.create(rows, cols);
+        for (int i = 0; i < sizes.length; i++) {
+            boolean horizontal = layout[3 * i + 2] == 1;
+            int row = layout[3 * i];
+            int col = layout[3 * i + 1];
+            if (flipRows) row = rows - 1 - row - (horizontal ? 0 : sizes[i] - 1);
+            if (flipCols) col = cols - 1 - col - (horizontal ? sizes[i] - 1 : 0);
+            board.place(row, col, sizes[i], horizontal);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+// Board size and fleet, read from --size/--rows/--cols/--fleet options. Shared by every entry point.
+public class GameConfig {
+    public static final int DEFAULT_SIZE = 10;
+    public static final int[] DEFAULT_FLEET = {4, 3, 2};
+    public static final String USAGE = "[--size N | --rows N --cols N] [--fleet 5,4,3x2,2]";
+
+    private int rows = DEFAULT_SIZE;
+    private int cols = DEFAULT_SIZE;
+    private int[] fleet = DEFAULT_FLEET;
+    // --fleet as given; expanded by validate() once the board size is final
+    private String fleetOption;
+
+    public GameConfig() {
+    }
+
+    public GameConfig(int rows, int cols, int[] fleet) {
+        this.rows = rows;
+        this.cols = cols;
+        this.fleet = fleet.clone();
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int[] fleet() {
+        return fleet.clone();
+    }
+
+    // Applies a board option, returning false if the option isn't one
+    public boolean accept(String option, String value) {
+        switch (option) {
+            case "--size" -> rows = cols = parseDimension(value);
+            case "--rows" -> rows = parseDimension(value);
+            case "--cols" -> cols = parseDimension(value);
+            case "--fleet" -> fleetOption = value;
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Throws IllegalArgumentException if the fleet can't be placed on the board
+    public GameConfig validate() {
+        if (fleetOption != null) {
+            fleet = parseFleet(fleetOption, (long) rows * cols);
+            fleetOption = null;
+        }
+        FleetPlacer.checkFeasible(rows, cols, fleet);
+        return this;
+    }
+
+    private static int parseDimension(String value) {
+        int n = parseNumber(value);
+        if (n < 1 || n > Board.MAX_DIMENSION) {
+            throw new IllegalArgumentException("Board dimensions must be between 1 and " + Board.MAX_DIMENSION);
+        }
+        return n;
+    }
+
+    // Comma separated ship sizes, each optionally followed by xCOUNT. The cells are totalled
+    // before anything is allocated, so a huge count fails here rather than running out of memory.
+    private static int[] parseFleet(String value, long boardCells) {
+        String[] parts = value.split(",");
+        int[] sizes = new int[parts.length];
+        int[] counts = new int[parts.length];
+        long ships = 0;
+        long cells = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            int x = part.indexOf('x');
+            sizes[i] = parseNumber(x < 0 ? part : part.substring(0, x));
+            counts[i] = x < 0 ? 1 : parseNumber(part.substring(x + 1));
+            if (sizes[i] < 1 || counts[i] < 1) throw new IllegalArgumentException("Invalid fleet entry " + part);
+            ships += counts[i];
+            cells += (long) sizes[i] * counts[i];
+            if (cells > boardCells) {
+                throw new IllegalArgumentException("The fleet needs more cells than the board's " + boardCells);
+            }
+        }
+        int[] fleet = new int[(int) ships];
+        int from = 0;
+        for (int i = 0; i < parts.length; i++) {
+            Arrays.fill(fleet, from, from + counts[i], sizes[i]);
+            from += counts[i];
+        }
+        return fleet;
+    }
+
+    static int parseNumber(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    // Only true or false: anything else is more likely a typo than a wish to switch the option off
+    static boolean parseBoolean(String option, String value) {
+        if (value.trim().equalsIgnoreCase("true")) return true;
+        if (value.trim().equalsIgnoreCase("false")) return false;
+        throw new IllegalArgumentException(option + " takes true or false, not " + value);
+    }
+}
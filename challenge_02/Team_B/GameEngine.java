@@ -0,0 +1,73 @@
+import java.util.Random;
+
+// One game against a hidden fleet. Everything lives in the instance, and the fleet comes from a
+// seeded RNG, so games can run side by side on any thread and replay identically from their seed.
+public class GameEngine {
+    private final Board board;
+    private final int[] fleet;
+    private final long seed;
+    private int shots = 0;
+
+    public GameEngine(int rows, int cols, int[] fleet, long seed) {
+        this.fleet = fleet.clone();
+        this.seed = seed;
+        this.board = FleetPlacer.place(rows, cols, fleet, new Random(seed));
+    }
+
+    public GameEngine(GameConfig config, long seed) {
+        this(config.rows(), config.cols(), config.fleet(), seed);
+    }
+
+    public Board.Shot fire(int row, int col) {
+        Board.Shot shot = board.fire(row, col);
+        if (shot != Board.Shot.REPEAT) shots++;
+        return shot;
+    }
+
+    // Fires and passes the result on to the strategy
+    public Board.Shot fire(int cell, ShotStrategy strategy) {
+        int row = cell / board.cols();
+        int col = cell % board.cols();
+        Board.Shot shot = fire(row, col);
+        switch (shot) {
+            case MISS, REPEAT -> strategy.miss(cell);
+            case HIT -> strategy.hit(cell);
+            case SUNK -> {
+                int id = board.shipAt(row, col);
+                strategy.sunk(cell, board.shipSize(id), board.shipRow(id), board.shipCol(id), board.isHorizontal(id));
+            }
+        }
+        return shot;
+    }
+
+    // Lets the strategy play until the fleet is sunk and returns the number of shots it took
+    public int playOut(ShotStrategy strategy) {
+        int repeats = 0;
+        while (!isOver()) {
+            if (fire(strategy.nextShot(), strategy) == Board.Shot.REPEAT && ++repeats > board.rows() * board.cols()) {
+                throw new IllegalStateException("Strategy keeps firing at cells it already shot");
+            }
+        }
+        return shots;
+    }
+
+    public boolean isOver() {
+        return board.allShipsSunk();
+    }
+
+    public int shots() {
+        return shots;
+    }
+
+    public Board board() {
+        return board;
+    }
+
+    public int[] fleet() {
+        return fleet.clone();
+    }
+
+    public long seed() {
+        return seed;
+    }
+}
@@ -0,0 +1,326 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Exact chance of a ship on every cell, from the player's point of view: enumerates every way the
+// ships still afloat can lie without covering a miss or a sunk ship while covering every open hit,
+// and counts how many of those fleets put a ship on each cell.
+// Placements are two-long masks (boards up to 128 cells). The candidates for each ship length are
+// kept between turns and only filtered as cells get ruled out. The search is split over the first
+// ship's placements on the fork-join pool. Fleets too big to enumerate within TIME_LIMIT_NANOS get an
+// approximate map that treats the ships as independent.
+public class HeatmapHint implements ShotStrategy {
+    public static final int MAX_CELLS = 128;
+    // Time allowed per heatmap before falling back to the approximation
+    private static final long TIME_LIMIT_NANOS = 100_000_000L;
+    // Candidate checks a task makes between looks at the clock
+    private static final long CLOCK_STEPS = 1 << 16;
+    // First-ship placements handled by one fork-join task
+    private static final int SPLIT = 8;
+
+    // Probability of a ship per cell; fleets is the number of consistent fleets when exact
+    public record Heatmap(double[] probabilities, long fleets, boolean exact) {
+    }
+
+    private final int rows;
+    private final int cols;
+    private long shotsLo;
+    private long shotsHi;
+    private long hitsLo;
+    private long hitsHi;
+    // Misses and the cells of sunk ships: no afloat ship can cover them
+    private long blockedLo;
+    private long blockedHi;
+    // Sizes of the ships still afloat, largest first
+    private int[] ships;
+    // Placements per length that avoid every blocked cell, compacted as cells get blocked
+    private final long[][] candidateLo;
+    private final long[][] candidateHi;
+    private final int[] candidateCount;
+    // Last heatmap, valid until the next shot
+    private Heatmap cached;
+    private final Random rnd;
+
+    public HeatmapHint(int rows, int cols, int[] fleet, Random rnd) {
+        if (rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Hints are available on boards of up to " + MAX_CELLS + " cells");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.rnd = rnd;
+        this.ships = fleet.clone();
+        Arrays.sort(ships);
+        for (int i = 0, j = ships.length - 1; i < j; i++, j--) {
+            int tmp = ships[i];
+            ships[i] = ships[j];
+            ships[j] = tmp;
+        }
+        ShipMasks shipMasks = ShipMasks.of(rows, cols);
+        long[] masks = shipMasks.masks();
+        int words = shipMasks.words();
+        int maxLength = ships.length == 0 ? 0 : Math.min(ships[0], shipMasks.maxLength());
+        candidateLo = new long[maxLength + 1][];
+        candidateHi = new long[maxLength + 1][];
+        candidateCount = new int[maxLength + 1];
+        for (int size : ships) {
+            if (size > maxLength || candidateLo[size] != null) continue;
+            int count = (shipMasks.end(size) - shipMasks.start(size)) / words;
+            candidateLo[size] = new long[count];
+            candidateHi[size] = new long[count];
+            for (int i = 0, p = shipMasks.start(size); i < count; i++, p += words) {
+                candidateLo[size][i] = masks[p];
+                candidateHi[size][i] = words > 1 ? masks[p + 1] : 0;
+            }
+            candidateCount[size] = count;
+        }
+    }
+
+    // Fires at the most likely unshot cell, breaking ties at random
+    @Override
+    public int nextShot() {
+        double[] probabilities = heatmap().probabilities();
+        int best = -1;
+        int ties = 0;
+        for (int cell = 0; cell < rows * cols; cell++) {
+            if (isShot(cell)) continue;
+            if (best >= 0 && probabilities[cell] < probabilities[best]) continue;
+            if (best >= 0 && probabilities[cell] == probabilities[best]) {
+                if (rnd.nextInt(++ties) == 0) best = cell;
+            } else {
+                best = cell;
+                ties = 1;
+            }
+        }
+        return best;
+    }
+
+    // Also called for repeated shots, which tell nothing new
+    @Override
+    public void miss(int cell) {
+        if (isShot(cell)) return;
+        markShot(cell);
+        block(bit(cell, 0), bit(cell, 64));
+    }
+
+    @Override
+    public void hit(int cell) {
+        markShot(cell);
+        hitsLo |= bit(cell, 0);
+        hitsHi |= bit(cell, 64);
+    }
+
+    // The ship covering cell went down: its cells are out of play and one ship of that size is gone
+    @Override
+    public void sunk(int cell, int size, int row, int col, boolean horizontal) {
+        hit(cell);
+        long lo = 0;
+        long hi = 0;
+        for (int i = 0, c = row * cols + col; i < size; i++, c += horizontal ? 1 : cols) {
+            lo |= bit(c, 0);
+            hi |= bit(c, 64);
+        }
+        block(lo, hi);
+        for (int i = 0; i < ships.length; i++) {
+            if (ships[i] != size) continue;
+            int[] left = new int[ships.length - 1];
+            System.arraycopy(ships, 0, left, 0, i);
+            System.arraycopy(ships, i + 1, left, i, left.length - i);
+            ships = left;
+            break;
+        }
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public boolean isShot(int cell) {
+        return ((cell < 64 ? shotsLo : shotsHi) & (1L << cell)) != 0;
+    }
+
+    // Probabilities for the current position, computed at most once per shot
+    public Heatmap heatmap() {
+        if (cached == null) {
+            cached = exact();
+            if (cached == null) cached = approximate();
+        }
+        return cached;
+    }
+
+    private void markShot(int cell) {
+        shotsLo |= bit(cell, 0);
+        shotsHi |= bit(cell, 64);
+        cached = null;
+    }
+
+    // Drops every candidate that covers one of the newly blocked cells
+    private void block(long lo, long hi) {
+        blockedLo |= lo;
+        blockedHi |= hi;
+        for (int size = 1; size < candidateCount.length; size++) {
+            long[] candidatesLo = candidateLo[size];
+            long[] candidatesHi = candidateHi[size];
+            int kept = 0;
+            for (int i = 0; i < candidateCount[size]; i++) {
+                if ((candidatesLo[i] & lo | candidatesHi[i] & hi) != 0) continue;
+                candidatesLo[kept] = candidatesLo[i];
+                candidatesHi[kept++] = candidatesHi[i];
+            }
+            candidateCount[size] = kept;
+        }
+        cached = null;
+    }
+
+    // Counts every consistent fleet, or returns null if that takes longer than TIME_LIMIT_NANOS
+    private Heatmap exact() {
+        double[] probabilities = new double[rows * cols];
+        if (ships.length == 0) return new Heatmap(probabilities, 1, true);
+        for (int size : ships) {
+            if (size >= candidateCount.length) return new Heatmap(probabilities, 0, true);
+        }
+        int[] suffixCells = new int[ships.length + 1];
+        for (int i = ships.length - 1; i >= 0; i--) suffixCells[i] = suffixCells[i + 1] + ships[i];
+        Fleets fleets = new Fleets(suffixCells, hitsLo & ~blockedLo, hitsHi & ~blockedHi,
+                System.nanoTime() + TIME_LIMIT_NANOS);
+        Search search = new Search(fleets, 0, candidateCount[ships[0]]);
+        ForkJoinPool.commonPool().invoke(search);
+        if (search.fleets.aborted) return null;
+        if (search.total == 0) return new Heatmap(probabilities, 0, true);
+        // Each placement's count of fleets goes to all of its cells
+        for (int depth = 0; depth < ships.length; depth++) {
+            long[] weights = search.weights[depth];
+            long[] lo = candidateLo[ships[depth]];
+            long[] hi = candidateHi[ships[depth]];
+            for (int p = 0; p < weights.length; p++) {
+                if (weights[p] == 0) continue;
+                for (long bits = lo[p]; bits != 0; bits &= bits - 1) probabilities[Long.numberOfTrailingZeros(bits)] += weights[p];
+                for (long bits = hi[p]; bits != 0; bits &= bits - 1) probabilities[64 + Long.numberOfTrailingZeros(bits)] += weights[p];
+            }
+        }
+        for (int cell = 0; cell < probabilities.length; cell++) probabilities[cell] /= search.total;
+        return new Heatmap(probabilities, search.total, true);
+    }
+
+    // Each ship independently over its candidates: 1 - product of (1 - share of its placements on the cell)
+    private Heatmap approximate() {
+        double[] free = new double[rows * cols];
+        Arrays.fill(free, 1);
+        int[] covering = new int[rows * cols];
+        for (int size : ships) {
+            int count = candidateCount[size];
+            if (count == 0) continue;
+            Arrays.fill(covering, 0);
+            for (int p = 0; p < count; p++) {
+                for (long bits = candidateLo[size][p]; bits != 0; bits &= bits - 1) covering[Long.numberOfTrailingZeros(bits)]++;
+                for (long bits = candidateHi[size][p]; bits != 0; bits &= bits - 1) covering[64 + Long.numberOfTrailingZeros(bits)]++;
+            }
+            for (int cell = 0; cell < free.length; cell++) free[cell] *= 1 - (double) covering[cell] / count;
+        }
+        double[] probabilities = new double[rows * cols];
+        for (int cell = 0; cell < free.length; cell++) probabilities[cell] = 1 - free[cell];
+        return new Heatmap(probabilities, 0, false);
+    }
+
+    private static long bit(int cell, int base) {
+        return cell >= base && cell < base + 64 ? 1L << cell : 0;
+    }
+
+    // What one heatmap's search shares between its tasks
+    private static final class Fleets {
+        final int[] suffixCells;
+        final long openLo;
+        final long openHi;
+        // System.nanoTime() past which every task gives up
+        final long deadline;
+        volatile boolean aborted;
+
+        Fleets(int[] suffixCells, long openLo, long openHi, long deadline) {
+            this.suffixCells = suffixCells;
+            this.openLo = openLo;
+            this.openHi = openHi;
+            this.deadline = deadline;
+        }
+    }
+
+    // Counts the fleets whose first ship is one of the candidates [from, to), with per-placement weights
+    @SuppressWarnings("serial")
+    private final class Search extends RecursiveAction {
+        private final Fleets fleets;
+        private final int from;
+        private final int to;
+        long[][] weights;
+        long total;
+        private long steps;
+
+        Search(Fleets fleets, int from, int to) {
+            this.fleets = fleets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT) {
+                int mid = (from + to) >>> 1;
+                Search left = new Search(fleets, from, mid);
+                Search right = new Search(fleets, mid, to);
+                invokeAll(left, right);
+                weights = left.weights;
+                for (int depth = 0; depth < weights.length; depth++) {
+                    for (int p = 0; p < weights[depth].length; p++) weights[depth][p] += right.weights[depth][p];
+                }
+                total = left.total + right.total;
+                return;
+            }
+            weights = new long[ships.length][];
+            for (int depth = 0; depth < ships.length; depth++) weights[depth] = new long[candidateCount[ships[depth]]];
+            total = search(0, 0, 0, from, to);
+        }
+
+        // Number of ways to place ships depth.. on top of the occupied cells, choosing ship depth from [from, to)
+        private long search(int depth, long occupiedLo, long occupiedHi, int from, int to) {
+            if (fleets.aborted) return 0;
+            int size = ships[depth];
+            long[] lo = candidateLo[size];
+            long[] hi = candidateHi[size];
+            long[] weight = weights[depth];
+            long count = 0;
+            steps += to - from;
+            if (steps >= CLOCK_STEPS) {
+                if (System.nanoTime() - fleets.deadline > 0) fleets.aborted = true;
+                steps = 0;
+            }
+            if (depth == ships.length - 1) {
+                // The last ship must cover every open hit the others left
+                long needLo = fleets.openLo & ~occupiedLo;
+                long needHi = fleets.openHi & ~occupiedHi;
+                for (int p = from; p < to; p++) {
+                    if ((lo[p] & occupiedLo | hi[p] & occupiedHi) != 0) continue;
+                    if ((needLo & ~lo[p] | needHi & ~hi[p]) != 0) continue;
+                    weight[p]++;
+                    count++;
+                }
+                return count;
+            }
+            int next = ships[depth + 1];
+            int remaining = fleets.suffixCells[depth + 1];
+            for (int p = from; p < to; p++) {
+                if ((lo[p] & occupiedLo | hi[p] & occupiedHi) != 0) continue;
+                long nextLo = occupiedLo | lo[p];
+                long nextHi = occupiedHi | hi[p];
+                // Prune when the ships left can't cover the open hits left
+                if (Long.bitCount(fleets.openLo & ~nextLo) + Long.bitCount(fleets.openHi & ~nextHi) > remaining) continue;
+                // Ships of the same size are placed in candidate order so each fleet is counted once
+                long below = search(depth + 1, nextLo, nextHi, next == size ? p + 1 : 0, candidateCount[next]);
+                weight[p] += below;
+                count += below;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Classic hunt and target: fire at random cells of one checkerboard colour until something is hit,
+// then work through the hit cell's neighbours until the ship goes down.
+public class HuntTargetStrategy implements ShotStrategy {
+    private final int rows;
+    private final int cols;
+    private final BitBoard shots;
+    // Hunt order: all cells of the (row + col) even colour, then the rest, each part shuffled lazily
+    private final int[] order;
+    private final int evenCells;
+    private int next = 0;
+    // Neighbours of hits still to try
+    private int[] targets = new int[16];
+    private int targetCount = 0;
+    private final Random rnd;
+
+    public HuntTargetStrategy(int rows, int cols, int[] fleet, Random rnd) {
+        this.rows = rows;
+        this.cols = cols;
+        this.shots = new BitBoard(rows, cols);
+        this.order = new int[rows * cols];
+        int even = 0;
+        int odd = order.length;
+        for (int cell = 0; cell < order.length; cell++) {
+            if ((cell / cols + cell % cols) % 2 == 0) order[even++] = cell;
+            else order[--odd] = cell;
+        }
+        this.evenCells = even;
+        this.rnd = rnd;
+    }
+
+    @Override
+    public int nextShot() {
+        while (targetCount > 0) {
+            int cell = targets[--targetCount];
+            if (!shots.get(cell)) return cell;
+        }
+        while (true) {
+            int bound = next < evenCells ? evenCells : order.length;
+            int j = next + rnd.nextInt(bound - next);
+            int cell = order[j];
+            order[j] = order[next];
+            order[next++] = cell;
+            if (!shots.get(cell)) return cell;
+        }
+    }
+
+    @Override
+    public void miss(int cell) {
+        shots.set(cell);
+    }
+
+    @Override
+    public void hit(int cell) {
+        shots.set(cell);
+        int row = cell / cols;
+        int col = cell % cols;
+        if (row > 0) push(cell - cols);
+        if (row < rows - 1) push(cell + cols);
+        if (col > 0) push(cell - 1);
+        if (col < cols - 1) push(cell + 1);
+    }
+
+    @Override
+    public void sunk(int cell, int size, int row, int col, boolean horizontal) {
+        shots.set(cell);
+    }
+
+    private void push(int cell) {
+        if (shots.get(cell)) return;
+        if (targetCount == targets.length) targets = Arrays.copyOf(targets, targetCount * 2);
+        targets[targetCount++] = cell;
+    }
+}
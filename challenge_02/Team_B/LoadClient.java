@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Load generator for BattleshipServer: opens many connections from one selector thread, plays
+// games back to back on each with a shooting strategy, one request in flight per connection, and
+// reports moves per second and move latency percentiles.
+//   java LoadClient [--host H] [--port N] [--connections N] [--seconds N] [--strategy random|hunt|density]
+public class LoadClient {
+    private static final int MAX_LINE = 4096;
+    // Latency histogram with 1us buckets; slower moves land in the last one
+    private static final int LATENCY_BUCKETS = 1_000_000;
+
+    private final long[] latencyMicros = new long[LATENCY_BUCKETS + 1];
+    private final ShotStrategy.Factory factory;
+    private final Random rnd = new Random(1);
+    private final StringBuilder text = new StringBuilder();
+    private long moves = 0;
+    private long games = 0;
+    private long errors = 0;
+
+    // One connection: its game in progress and the request it is waiting on
+    private static final class Connection {
+        final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+        final ByteBuffer out = ByteBuffer.allocate(64);
+        ShotStrategy strategy;
+        int rows;
+        int cols;
+        int lastCell;
+        long sentAt;
+    }
+
+    public LoadClient(ShotStrategy.Factory factory) {
+        this.factory = factory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = "localhost";
+        int port = 7777;
+        int connections = 1000;
+        int seconds = 10;
+        String strategy = "hunt";
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--host" -> host = value;
+                    case "--port" -> port = GameConfig.parseNumber(value);
+                    case "--connections" -> connections = Math.max(1, GameConfig.parseNumber(value));
+                    case "--seconds" -> seconds = Math.max(1, GameConfig.parseNumber(value));
+                    case "--strategy" -> strategy = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: java LoadClient [--host H] [--port N] [--connections N] [--seconds N] [--strategy random|hunt|density]");
+            return;
+        }
+        ShotStrategy.Factory factory = switch (strategy) {
+            case "random" -> RandomStrategy::new;
+            case "density" -> DensityAI::new;
+            default -> HuntTargetStrategy::new;
+        };
+        new LoadClient(factory).run(new InetSocketAddress(host, port), connections, seconds * 1_000_000_000L);
+    }
+
+    public void run(InetSocketAddress address, int connections, long durationNanos) throws IOException {
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < connections; i++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.connect(address);
+                channel.register(selector, SelectionKey.OP_CONNECT, new Connection());
+            }
+            long start = System.nanoTime();
+            long deadline = start + durationNanos;
+            for (long now = start; now < deadline; now = System.nanoTime()) {
+                selector.select(Math.max(1, (deadline - now) / 1_000_000));
+                for (var it = selector.selectedKeys().iterator(); it.hasNext(); ) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    try {
+                        if (key.isConnectable()) {
+                            ((SocketChannel) key.channel()).finishConnect();
+                            send(key, "NEW");
+                        } else if (key.isReadable()) {
+                            read(key);
+                        } else if (key.isWritable()) {
+                            flush(key);
+                        }
+                    } catch (IOException e) {
+                        errors++;
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+            }
+            report(connections, System.nanoTime() - start);
+            for (SelectionKey key : selector.keys()) key.channel().close();
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer in = connection.in;
+        if (((SocketChannel) key.channel()).read(in) < 0) throw new IOException("Server closed the connection");
+        in.flip();
+        byte[] bytes = in.array();
+        for (int end = in.position(); end < in.limit(); end++) {
+            if (bytes[end] != '\n') continue;
+            int start = in.position();
+            in.position(end + 1);
+            onResponse(key, connection, new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+        }
+        in.compact();
+    }
+
+    private void onResponse(SelectionKey key, Connection connection, String line) throws IOException {
+        String[] parts = line.split(" ");
+        switch (parts[0]) {
+            case "OK" -> {
+                connection.rows = Integer.parseInt(parts[1]);
+                connection.cols = Integer.parseInt(parts[2]);
+                String[] sizes = parts[3].split(",");
+                int[] fleet = new int[sizes.length];
+                for (int i = 0; i < sizes.length; i++) fleet[i] = Integer.parseInt(sizes[i]);
+                connection.strategy = factory.create(connection.rows, connection.cols, fleet, new Random(rnd.nextLong()));
+                fire(key, connection);
+            }
+            case "MISS", "REPEAT" -> {
+                recordMove(connection);
+                connection.strategy.miss(connection.lastCell);
+                fire(key, connection);
+            }
+            case "HIT" -> {
+                recordMove(connection);
+                connection.strategy.hit(connection.lastCell);
+                fire(key, connection);
+            }
+            case "SUNK" -> {
+                recordMove(connection);
+                long origin = Coordinates.parse(parts[2], connection.rows, connection.cols);
+                connection.strategy.sunk(connection.lastCell, Integer.parseInt(parts[1]), Coordinates.row(origin),
+                        Coordinates.col(origin), parts[3].equals("H"));
+                fire(key, connection);
+            }
+            case "WIN" -> {
+                recordMove(connection);
+                games++;
+                send(key, "NEW");
+            }
+            default -> throw new IOException("Unexpected response: " + line);
+        }
+    }
+
+    private void fire(SelectionKey key, Connection connection) throws IOException {
+        int cell = connection.strategy.nextShot();
+        connection.lastCell = cell;
+        text.setLength(0);
+        text.append("FIRE ");
+        Coordinates.appendRowLabel(text, cell / connection.cols).append(cell % connection.cols + 1);
+        send(key, text);
+    }
+
+    private void send(SelectionKey key, CharSequence request) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        for (int i = 0; i < request.length(); i++) connection.out.put((byte) request.charAt(i));
+        connection.out.put((byte) '\n');
+        connection.sentAt = System.nanoTime();
+        flush(key);
+    }
+
+    private void flush(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        connection.out.flip();
+        ((SocketChannel) key.channel()).write(connection.out);
+        connection.out.compact();
+        key.interestOps(connection.out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void recordMove(Connection connection) {
+        long micros = (System.nanoTime() - connection.sentAt) / 1000;
+        latencyMicros[(int) Math.min(micros, LATENCY_BUCKETS)]++;
+        moves++;
+    }
+
+    private void report(int connections, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%d connections, %.1f s: %d moves (%.0f moves/s), %d games, %d errors%n",
+                connections, seconds, moves, moves / seconds, games, errors);
+        System.out.printf("move latency us: p50 %d, p90 %d, p99 %d, p99.9 %d, max %d%n", percentile(0.5), percentile(0.9),
+                percentile(0.99), percentile(0.999), percentile(1));
+    }
+
+    private long percentile(double fraction) {
+        long needed = Math.max(1, (long) Math.ceil(fraction * moves));
+        long seen = 0;
+        for (int micros = 0; micros < latencyMicros.length; micros++) {
+            seen += latencyMicros[micros];
+            if (seen >= needed) return micros;
+        }
+        return LATENCY_BUCKETS;
+    }
+}
@@ -0,0 +1,36 @@
+import java.util.Random;
+
+// Fires at unshot cells in uniformly random order, ignoring results. The baseline to beat.
+public class RandomStrategy implements ShotStrategy {
+    private final int[] order;
+    private final Random rnd;
+    private int next = 0;
+
+    public RandomStrategy(int rows, int cols, int[] fleet, Random rnd) {
+        order = new int[rows * cols];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        this.rnd = rnd;
+    }
+
+    // One Fisher-Yates step per shot, so a short game doesn't shuffle the whole board
+    @Override
+    public int nextShot() {
+        int j = next + rnd.nextInt(order.length - next);
+        int cell = order[j];
+        order[j] = order[next];
+        order[next++] = cell;
+        return cell;
+    }
+
+    @Override
+    public void miss(int cell) {
+    }
+
+    @Override
+    public void hit(int cell) {
+    }
+
+    @Override
+    public void sunk(int cell, int size, int row, int col, boolean horizontal) {
+    }
+}
@@ -0,0 +1,167 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Compact binary record of one game: settings, seed, where every ship went and every shot with its
+// result. Numbers are unsigned varints, so on a 10x10 board a shot takes one or two bytes.
+//   "BSR" version rows cols fleetCount size... seed(8 bytes, big endian) vsComputer
+//   per board (enemy, then home when playing the computer): shipCount, then size and (cell << 1 | horizontal)
+//   per shot until the end: cell << 3 | byComputer << 2 | result ordinal
+public class ReplayLog {
+    private static final byte[] MAGIC = {'B', 'S', 'R'};
+    private static final int VERSION = 1;
+
+    private byte[] bytes = new byte[256];
+    private int length = 0;
+    private int position = 0;
+
+    private GameConfig config;
+    private long seed;
+    private boolean vsComputer;
+
+    private ReplayLog() {
+    }
+
+    // Starts recording a game whose fleets have just been placed; home is null without a computer opponent
+    public static ReplayLog record(GameConfig config, long seed, Board enemy, Board home) {
+        ReplayLog log = new ReplayLog();
+        log.config = config;
+        log.seed = seed;
+        log.vsComputer = home != null;
+        for (byte b : MAGIC) log.putByte(b);
+        log.putByte(VERSION);
+        log.putVarint(config.rows());
+        log.putVarint(config.cols());
+        int[] fleet = config.fleet();
+        log.putVarint(fleet.length);
+        for (int size : fleet) log.putVarint(size);
+        for (int shift = 56; shift >= 0; shift -= 8) log.putByte((int) (seed >>> shift));
+        log.putByte(home != null ? 1 : 0);
+        log.putPlacement(enemy);
+        if (home != null) log.putPlacement(home);
+        return log;
+    }
+
+    public void shot(boolean byComputer, int cell, Board.Shot result) {
+        putVarint((long) cell << 3 | (byComputer ? 4 : 0) | result.ordinal());
+    }
+
+    public void save(Path path) throws IOException {
+        Files.write(path, Arrays.copyOf(bytes, length));
+    }
+
+    // Reads a saved log up to its first placement; throws IOException if it isn't one
+    public static ReplayLog load(Path path) throws IOException {
+        ReplayLog log = new ReplayLog();
+        log.bytes = Files.readAllBytes(path);
+        log.length = log.bytes.length;
+        for (byte b : MAGIC) {
+            if (log.getByte() != b) throw new IOException(path + " is not a Battleship replay");
+        }
+        int version = log.getByte();
+        if (version != VERSION) throw new IOException("Unsupported replay version " + version);
+        int rows = (int) log.getVarint();
+        int cols = (int) log.getVarint();
+        // Every size takes at least a byte, so a count past what is left can't be genuine
+        long ships = log.getVarint();
+        if (ships < 0 || ships > log.length - log.position) throw new IOException("Corrupt replay: fleet of " + ships + " ships");
+        int[] fleet = new int[(int) ships];
+        for (int i = 0; i < fleet.length; i++) fleet[i] = (int) log.getVarint();
+        try {
+            log.config = new GameConfig(rows, cols, fleet).validate();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt replay: " + e.getMessage());
+        }
+        for (int i = 0; i < 8; i++) log.seed = log.seed << 8 | log.getByte();
+        log.vsComputer = log.getByte() != 0;
+        return log;
+    }
+
+    public GameConfig config() {
+        return config;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public boolean vsComputer() {
+        return vsComputer;
+    }
+
+    // Reads the next recorded fleet and checks it matches the ships on the board, in order
+    public boolean matchesPlacement(Board board) throws IOException {
+        int ships = (int) getVarint();
+        boolean matches = ships == board.shipCount();
+        for (int id = 0; id < ships; id++) {
+            int size = (int) getVarint();
+            long start = getVarint();
+            if (!matches) continue;
+            matches = size == board.shipSize(id) && start >> 1 == board.cell(board.shipRow(id), board.shipCol(id))
+                    && ((start & 1) == 1) == board.isHorizontal(id);
+        }
+        return matches;
+    }
+
+    public boolean hasShot() {
+        return position < length;
+    }
+
+    // Next shot, packed as cell << 3 | byComputer << 2 | result; see the helpers below
+    public long nextShot() throws IOException {
+        return getVarint();
+    }
+
+    public static int cell(long shot) {
+        return (int) (shot >>> 3);
+    }
+
+    public static boolean byComputer(long shot) {
+        return (shot & 4) != 0;
+    }
+
+    public static Board.Shot result(long shot) {
+        return Board.Shot.values()[(int) (shot & 3)];
+    }
+
+    public int size() {
+        return length;
+    }
+
+    private void putPlacement(Board board) {
+        putVarint(board.shipCount());
+        for (int id = 0; id < board.shipCount(); id++) {
+            putVarint(board.shipSize(id));
+            putVarint((long) board.cell(board.shipRow(id), board.shipCol(id)) << 1 | (board.isHorizontal(id) ? 1 : 0));
+        }
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            putByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        putByte((int) value);
+    }
+
+    private void putByte(int b) {
+        if (length == bytes.length) bytes = Arrays.copyOf(bytes, length * 2);
+        bytes[length++] = (byte) b;
+    }
+
+    private long getVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = getByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Corrupt replay: varint too long");
+    }
+
+    private int getByte() throws IOException {
+        if (position == length) throw new IOException("Replay ends early");
+        return bytes[position++] & 0xFF;
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Precomputed bitboard masks for every ship length, position and orientation on one board size.
+// Masks live back to back in a single long[]; a placement is the offset of its first word. A ship of
+// length 1 has one mask per cell, which placement() returns for either orientation.
+public class ShipMasks {
+    public static final int NONE = -1;
+    // Masks are immutable, so every board and AI of the same size shares one set
+    private static final Map<Long, ShipMasks> CACHE = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int cols;
+    private final int words;
+    private final int maxLength;
+    private final long[] masks;
+    // Offset into masks per (length, orientation, cell), NONE when the ship would run off the board
+    private final int[] offsets;
+    // Masks of length L occupy [lengthStart[L], lengthStart[L + 1])
+    private final int[] lengthStart;
+
+    private ShipMasks(int rows, int cols, int maxLength) {
+        this.rows = rows;
+        this.cols = cols;
+        this.words = BitBoard.wordsFor(rows, cols);
+        this.maxLength = maxLength;
+        int cells = rows * cols;
+        offsets = new int[(maxLength + 1) * 2 * cells];
+        Arrays.fill(offsets, NONE);
+
+        int count = 0;
+        for (int length = 1; length <= maxLength; length++) {
+            count += Math.max(0, cols - length + 1) * rows;
+            if (length > 1) count += Math.max(0, rows - length + 1) * cols;
+        }
+        masks = new long[count * words];
+
+        lengthStart = new int[maxLength + 2];
+        int next = 0;
+        for (int length = 1; length <= maxLength; length++) {
+            lengthStart[length] = next;
+            for (int vertical = 0; vertical < (length > 1 ? 2 : 1); vertical++) {
+                for (int row = 0; row < rows; row++) {
+                    for (int col = 0; col < cols; col++) {
+                        if (vertical == 0 ? col + length > cols : row + length > rows) continue;
+                        for (int i = 0; i < length; i++) {
+                            int cell = vertical == 0 ? row * cols + col + i : (row + i) * cols + col;
+                            masks[next + (cell >>> 6)] |= 1L << cell;
+                        }
+                        offsets[index(length, vertical == 0, row * cols + col)] = next;
+                        if (length == 1) offsets[index(length, false, row * cols + col)] = next;
+                        next += words;
+                    }
+                }
+            }
+        }
+        lengthStart[maxLength + 1] = next;
+    }
+
+    // Masks for every ship that fits on a rows x cols board
+    public static ShipMasks of(int rows, int cols) {
+        return CACHE.computeIfAbsent(Coordinates.pack(rows, cols), k -> new ShipMasks(rows, cols, Math.max(rows, cols)));
+    }
+
+    private int index(int length, boolean horizontal, int cell) {
+        return ((length * 2) + (horizontal ? 0 : 1)) * rows * cols + cell;
+    }
+
+    // Offset of the mask for a ship at (row, col), or NONE if it doesn't fit on the board
+    public int placement(int length, int row, int col, boolean horizontal) {
+        if (length < 1 || length > maxLength || row < 0 || row >= rows || col < 0 || col >= cols) return NONE;
+        return offsets[index(length, horizontal, row * cols + col)];
+    }
+
+    // First placement of the given length; the rest follow every words() longs up to end(length)
+    public int start(int length) {
+        return lengthStart[length];
+    }
+
+    public int end(int length) {
+        return lengthStart[length + 1];
+    }
+
+    public int words() {
+        return words;
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+
+    public boolean contains(int placement, int cell) {
+        return (masks[placement + (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    public long[] masks() {
+        return masks;
+    }
+}
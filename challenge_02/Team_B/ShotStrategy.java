@@ -0,0 +1,19 @@
+import java.util.Random;
+
+// Chooses where to fire and learns from each result. A strategy instance plays one game.
+public interface ShotStrategy {
+    // Cell number (row * cols + col) to fire at next; never one already fired at
+    int nextShot();
+
+    void miss(int cell);
+
+    void hit(int cell);
+
+    // The shot at cell sank the ship of the given size, origin and orientation
+    void sunk(int cell, int size, int row, int col, boolean horizontal);
+
+    // Creates a strategy for one game on a rows x cols board against the given fleet
+    interface Factory {
+        ShotStrategy create(int rows, int cols, int[] fleet, Random rnd);
+    }
+}
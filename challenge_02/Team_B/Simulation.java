@@ -0,0 +1,141 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Headless tournament: every strategy plays the same seeded games on all cores, then the
+// shots-to-win distribution and games per second are reported for each.
+//   java Simulation [--games N] [--threads N] [--seed S] [--strategy random,hunt,density] [board options]
+public class Simulation {
+    private static final Map<String, ShotStrategy.Factory> STRATEGIES = new LinkedHashMap<>();
+    // Workers claim games in blocks so the shared counter isn't touched on every game
+    private static final int BLOCK = 1024;
+
+    static {
+        STRATEGIES.put("random", RandomStrategy::new);
+        STRATEGIES.put("hunt", HuntTargetStrategy::new);
+        STRATEGIES.put("density", DensityAI::new);
+    }
+
+    // Shots-to-win histogram plus timing for one strategy
+    public record Result(String strategy, long games, long[] shotCounts, long nanos) {
+        public double gamesPerSecond() {
+            return games * 1e9 / nanos;
+        }
+
+        public double mean() {
+            long total = 0;
+            for (int shots = 0; shots < shotCounts.length; shots++) total += shots * shotCounts[shots];
+            return (double) total / games;
+        }
+
+        // Smallest shot count reached by at least the given fraction of games
+        public int percentile(double fraction) {
+            long needed = (long) Math.ceil(fraction * games);
+            long seen = 0;
+            for (int shots = 0; shots < shotCounts.length; shots++) {
+                seen += shotCounts[shots];
+                if (seen >= Math.max(needed, 1)) return shots;
+            }
+            return shotCounts.length - 1;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        GameConfig config = new GameConfig();
+        long games = 1_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 42;
+        List<String> strategies = new ArrayList<>(STRATEGIES.keySet());
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--games" -> games = GameConfig.parseLong(value);
+                    case "--threads" -> threads = Math.max(1, GameConfig.parseNumber(value));
+                    case "--seed" -> seed = GameConfig.parseLong(value);
+                    case "--strategy" -> strategies = List.of(value.split(","));
+                    default -> {
+                        if (!config.accept(args[i], value)) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    }
+                }
+            }
+            config.validate();
+            for (String name : strategies) {
+                if (!STRATEGIES.containsKey(name)) throw new IllegalArgumentException("Unknown strategy " + name);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: java Simulation [--games N] [--threads N] [--seed S] [--strategy "
+                    + String.join(",", STRATEGIES.keySet()) + "] " + GameConfig.USAGE);
+            return;
+        }
+
+        System.out.printf("%d games per strategy on a %dx%d board, %d threads%n", games, config.rows(), config.cols(), threads);
+        System.out.printf("%-10s %12s %8s %6s %6s %6s %6s %6s%n", "strategy", "games/s", "mean", "min", "p50", "p90", "p99", "max");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (String name : strategies) {
+                Result result;
+                try {
+                    result = run(name, STRATEGIES.get(name), config, games, seed, threads, pool);
+                } catch (ExecutionException e) {
+                    // e.g. the density AI on a board too big for its masks
+                    System.out.printf("%-10s skipped: %s%n", name, e.getCause().getMessage());
+                    continue;
+                }
+                System.out.printf("%-10s %12.0f %8.2f %6d %6d %6d %6d %6d%n", name, result.gamesPerSecond(), result.mean(),
+                        result.percentile(0), result.percentile(0.5), result.percentile(0.9), result.percentile(0.99),
+                        result.percentile(1));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Plays games 0..games-1 of the tournament; game i always uses the same fleet for every strategy
+    public static Result run(String name, ShotStrategy.Factory factory, GameConfig config, long games, long seed,
+                             int threads, ExecutorService pool) throws InterruptedException, ExecutionException {
+        int rows = config.rows();
+        int cols = config.cols();
+        int[] fleet = config.fleet();
+        AtomicLong nextBlock = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                long[] shotCounts = new long[rows * cols + 1];
+                for (long from; (from = nextBlock.getAndAdd(BLOCK)) < games; ) {
+                    for (long game = from, end = Math.min(games, from + BLOCK); game < end; game++) {
+                        long gameSeed = mix(seed + game);
+                        GameEngine engine = new GameEngine(rows, cols, fleet, gameSeed);
+                        // The strategy gets its own stream so its choices don't shift the fleet
+                        ShotStrategy strategy = factory.create(rows, cols, fleet, new Random(mix(gameSeed)));
+                        shotCounts[engine.playOut(strategy)]++;
+                    }
+                }
+                return shotCounts;
+            }));
+        }
+        long[] shotCounts = new long[rows * cols + 1];
+        for (Future<long[]> worker : workers) {
+            long[] counts = worker.get();
+            for (int i = 0; i < counts.length; i++) shotCounts[i] += counts[i];
+        }
+        return new Result(name, games, shotCounts, System.nanoTime() - start);
+    }
+
+    // SplitMix64 finaliser: turns consecutive game numbers into unrelated seeds
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
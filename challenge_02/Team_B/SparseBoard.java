@@ -0,0 +1,43 @@
+// Board for very large grids: memory grows with the ship cells and shots, not with the grid
+public class SparseBoard extends Board {
+    private final CellMap shipAt = new CellMap();
+    private final CellMap shots = new CellMap();
+
+    public SparseBoard(int rows, int cols) {
+        super(rows, cols);
+    }
+
+    @Override
+    protected boolean isFree(int row, int col, int size, boolean horizontal) {
+        int cell = cell(row, col);
+        int step = horizontal ? 1 : cols;
+        for (int i = 0; i < size; i++, cell += step) {
+            if (shipAt.containsKey(cell)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected void markShip(int row, int col, int size, boolean horizontal, int id) {
+        int cell = cell(row, col);
+        int step = horizontal ? 1 : cols;
+        for (int i = 0; i < size; i++, cell += step) {
+            shipAt.put(cell, id);
+        }
+    }
+
+    @Override
+    protected int shipAt(int cell) {
+        return shipAt.get(cell, NO_SHIP);
+    }
+
+    @Override
+    protected boolean isShot(int cell) {
+        return shots.containsKey(cell);
+    }
+
+    @Override
+    protected boolean markShot(int cell) {
+        return shots.put(cell, 1);
+    }
+}
@@ -0,0 +1,170 @@
+package benchmarks;
+
+import battleship.Board;
+import battleship.ShotStrategy;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The original char[][] BattleshipGame logic, kept as a reference point. The grids are per instance
+ * and sized by the constructor, placement takes a Random, and updateShipStatus returns the ship
+ * instead of printing; the original was static, fixed at 10x10 and made an unseeded Random per ship.
+ */
+final class CharGridBaseline {
+    private static final char WATER = '~';
+    private static final char HIT = 'X';
+    private static final char MISS = 'O';
+
+    private final int gridSize;
+    private final char[][] playerView;
+    private final char[][] shipGrid;
+    private final List<Ship> ships = new ArrayList<>();
+
+    private static class Ship {
+        int size;
+        List<int[]> coordinates = new ArrayList<>();
+        int hits = 0;
+
+        Ship(int size) {
+            this.size = size;
+        }
+
+        boolean isSunk() {
+            return hits >= size;
+        }
+    }
+
+    CharGridBaseline(int gridSize) {
+        this.gridSize = gridSize;
+        playerView = new char[gridSize][gridSize];
+        shipGrid = new char[gridSize][gridSize];
+        for (int i = 0; i < gridSize; i++) {
+            Arrays.fill(playerView[i], WATER);
+            Arrays.fill(shipGrid[i], WATER);
+        }
+    }
+
+    /** A baseline grid holding the same ships as the board, for like-for-like comparisons. */
+    static CharGridBaseline copyOf(Board board) {
+        CharGridBaseline baseline = new CharGridBaseline(board.rows());
+        for (int id = 0; id < board.shipCount(); id++) {
+            baseline.addShip(board.shipRow(id), board.shipCol(id), board.shipSize(id), board.isHorizontal(id));
+        }
+        return baseline;
+    }
+
+    void placeAllShips(int[] fleet, Random rand) {
+        for (int size : fleet) placeShip(size, rand);
+    }
+
+    private void placeShip(int size, Random rand) {
+        boolean placed = false;
+        while (!placed) {
+            int row = rand.nextInt(gridSize);
+            int col = rand.nextInt(gridSize);
+            boolean horizontal = rand.nextBoolean();
+
+            if (canPlaceShip(row, col, size, horizontal)) {
+                addShip(row, col, size, horizontal);
+                placed = true;
+            }
+        }
+    }
+
+    private void addShip(int row, int col, int size, boolean horizontal) {
+        Ship ship = new Ship(size);
+        for (int i = 0; i < size; i++) {
+            int r = row + (horizontal ? 0 : i);
+            int c = col + (horizontal ? i : 0);
+            shipGrid[r][c] = 'S';
+            ship.coordinates.add(new int[]{r, c});
+        }
+        ships.add(ship);
+    }
+
+    boolean canPlaceShip(int row, int col, int size, boolean horizontal) {
+        if (horizontal && col + size > gridSize) return false;
+        if (!horizontal && row + size > gridSize) return false;
+
+        for (int i = 0; i < size; i++) {
+            int r = row + (horizontal ? 0 : i);
+            int c = col + (horizontal ? i : 0);
+            if (shipGrid[r][c] == 'S') return false;
+        }
+        return true;
+    }
+
+    /** Returns the ship that was hit, or null, as the original's "You sunk my battleship!" branch needs. */
+    Ship updateShipStatus(int hitRow, int hitCol) {
+        for (Ship ship : ships) {
+            for (int[] coord : ship.coordinates) {
+                if (coord[0] == hitRow && coord[1] == hitCol) {
+                    ship.hits++;
+                    return ship;
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean allShipsSunk() {
+        for (Ship ship : ships) {
+            if (!ship.isSunk()) return false;
+        }
+        return true;
+    }
+
+    /** Marks a shot on the player view the way the main loop does. */
+    void markShot(int row, int col) {
+        playerView[row][col] = shipGrid[row][col] == 'S' ? HIT : MISS;
+    }
+
+    /** The main loop's shot handling, with the strategy in place of the console. */
+    int playOut(ShotStrategy strategy) {
+        int shots = 0;
+        while (!allShipsSunk()) {
+            int cell = strategy.nextShot();
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            if (playerView[row][col] == HIT || playerView[row][col] == MISS) {
+                strategy.miss(cell);
+                continue;
+            }
+            shots++;
+            if (shipGrid[row][col] == 'S') {
+                playerView[row][col] = HIT;
+                Ship ship = updateShipStatus(row, col);
+                if (ship.isSunk()) {
+                    int[] first = ship.coordinates.get(0);
+                    boolean horizontal = ship.size > 1 && ship.coordinates.get(1)[0] == first[0];
+                    strategy.sunk(cell, ship.size, first[0], first[1], horizontal);
+                } else {
+                    strategy.hit(cell);
+                }
+            } else {
+                playerView[row][col] = MISS;
+                strategy.miss(cell);
+            }
+        }
+        return shots;
+    }
+
+    void printPlayerView(PrintStream out) {
+        out.print("  ");
+        for (int i = 1; i <= gridSize; i++) {
+            out.print(i + " ");
+        }
+        out.println();
+        for (int row = 0; row < gridSize; row++) {
+            out.print((char) ('A' + row) + " ");
+            for (int col = 0; col < gridSize; col++) {
+                out.print(playerView[row][col] + " ");
+            }
+            out.println();
+        }
+    }
+}
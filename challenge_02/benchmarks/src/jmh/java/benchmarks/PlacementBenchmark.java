@@ -0,0 +1,78 @@
+package benchmarks;
+
+import battleship.Board;
+import battleship.FleetPlacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placing a whole fleet on an empty board (FleetPlacer against the baseline's retry loop), and
+ * single placement checks on a board that already holds the fleet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PlacementBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"4,3,2", "5,4,3,3,2"})
+    public String fleet;
+
+    private int[] sizes;
+    private long seed;
+    private Board board;
+    private CharGridBaseline baseline;
+    private int[][] queries;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        sizes = Positions.fleet(fleet);
+        seed = 42;
+        board = Positions.board(size, sizes, 42);
+        baseline = CharGridBaseline.copyOf(board);
+        Random rnd = new Random(42);
+        queries = new int[BATCH][];
+        for (int i = 0; i < BATCH; i++) {
+            queries[i] = new int[]{rnd.nextInt(size), rnd.nextInt(size), sizes[rnd.nextInt(sizes.length)], rnd.nextInt(2)};
+        }
+    }
+
+    @Benchmark
+    public Board fleetPlacer() {
+        return FleetPlacer.place(size, size, sizes, new Random(seed++));
+    }
+
+    @Benchmark
+    public CharGridBaseline baselinePlaceAllShips() {
+        CharGridBaseline grid = new CharGridBaseline(size);
+        grid.placeAllShips(sizes, new Random(seed++));
+        return grid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void boardCanPlace(Blackhole bh) {
+        for (int[] q : queries) bh.consume(board.canPlace(q[0], q[1], q[2], q[3] == 1));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void baselineCanPlaceShip(Blackhole bh) {
+        for (int[] q : queries) bh.consume(baseline.canPlaceShip(q[0], q[1], q[2], q[3] == 1));
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import battleship.GameEngine;
+import battleship.HuntTargetStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole games, placement included, played by the hunt-and-target strategy. Game n of a trial uses
+ * seed 42 + n for both the fleet and the strategy, so every run plays the same games.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PlayoutBenchmark {
+    @Param({"10", "30", "100"})
+    public int size;
+
+    @Param({"4,3,2", "5,4,3,3,2"})
+    public String fleet;
+
+    private int[] sizes;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        sizes = Positions.fleet(fleet);
+        seed = 42;
+    }
+
+    @Benchmark
+    public int engine() {
+        long game = seed++;
+        GameEngine engine = new GameEngine(size, size, sizes, game);
+        return engine.playOut(new HuntTargetStrategy(size, size, sizes, new Random(game)));
+    }
+
+    @Benchmark
+    public int baseline() {
+        long game = seed++;
+        CharGridBaseline grid = new CharGridBaseline(size);
+        grid.placeAllShips(sizes, new Random(game));
+        return grid.playOut(new HuntTargetStrategy(size, size, sizes, new Random(game)));
+    }
+}
@@ -0,0 +1,34 @@
+package benchmarks;
+
+import battleship.Board;
+import battleship.FleetPlacer;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/** Seeded boards shared by the benchmarks, so the engine and the baseline see the same ships. */
+final class Positions {
+    private Positions() {}
+
+    static int[] fleet(String sizes) {
+        return Arrays.stream(sizes.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    static Board board(int size, int[] fleet, long seed) {
+        return FleetPlacer.place(size, size, fleet, new Random(seed));
+    }
+
+    /** Fires at a share of the cells, chosen at random, on both representations. */
+    static void shoot(Board board, CharGridBaseline baseline, double share, long seed) {
+        Random rnd = new Random(seed);
+        int cells = board.rows() * board.cols();
+        for (int i = 0; i < cells * share; i++) {
+            int cell = rnd.nextInt(cells);
+            int row = cell / board.cols();
+            int col = cell % board.cols();
+            if (board.fire(row, col) == Board.Shot.REPEAT) continue;
+            baseline.markShot(row, col);
+            if (board.hasShip(row, col)) baseline.updateShipStatus(row, col);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import battleship.Board;
+import battleship.BoardRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing the player's view of a half-shot board to a discarding stream: the baseline's print per
+ * cell against BoardRenderer's single write, in full and ANSI diff mode (where nothing changed).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RenderBenchmark {
+    @Param({"10", "26"})
+    public int size;
+
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+    private Board board;
+    private CharGridBaseline baseline;
+    private BoardRenderer renderer;
+    private BoardRenderer ansiRenderer;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        board = Positions.board(size, new int[]{4, 3, 2}, 42);
+        baseline = CharGridBaseline.copyOf(board);
+        Positions.shoot(board, baseline, 0.5, 7);
+        renderer = new BoardRenderer(out, false);
+        // Tall enough for the 26-row view, so it measures diffs rather than full redraws
+        ansiRenderer = new BoardRenderer(out, true, 64);
+    }
+
+    @Benchmark
+    public void renderer() {
+        renderer.board(board, false, 0, 0).flush();
+    }
+
+    @Benchmark
+    public void rendererAnsiDiff() {
+        ansiRenderer.board(board, false, 0, 0).flush();
+    }
+
+    @Benchmark
+    public void baselinePrintPlayerView() {
+        baseline.printPlayerView(out);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import battleship.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a hit to its ship and checking for the end of the game, on a board and a baseline
+ * grid with the same ships after a quarter of the cells have been shot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShotBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"4,3,2", "5,4,3,3,2"})
+    public String fleet;
+
+    private Board board;
+    private CharGridBaseline baseline;
+    // Ship cells as {row, col}, repeated to fill the batch
+    private int[][] hits;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        board = Positions.board(size, Positions.fleet(fleet), 42);
+        baseline = CharGridBaseline.copyOf(board);
+        Positions.shoot(board, baseline, 0.25, 7);
+        hits = new int[BATCH][];
+        for (int i = 0; i < BATCH; ) {
+            for (int id = 0; id < board.shipCount() && i < BATCH; id++) {
+                for (int k = 0; k < board.shipSize(id) && i < BATCH; k++) {
+                    boolean horizontal = board.isHorizontal(id);
+                    hits[i++] = new int[]{board.shipRow(id) + (horizontal ? 0 : k), board.shipCol(id) + (horizontal ? k : 0)};
+                }
+            }
+        }
+    }
+
+    /** What Board.fire does after marking a hit: find the ship and whether it went down. */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void boardShipAt(Blackhole bh) {
+        for (int[] hit : hits) bh.consume(board.isSunk(board.shipAt(hit[0], hit[1])));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void baselineUpdateShipStatus(Blackhole bh) {
+        for (int[] hit : hits) bh.consume(baseline.updateShipStatus(hit[0], hit[1]));
+    }
+
+    @Benchmark
+    public boolean boardAllShipsSunk() {
+        return board.allShipsSunk();
+    }
+
+    @Benchmark
+    public boolean baselineAllShipsSunk() {
+        return baseline.allShipsSunk();
+    }
+}
@@ -0,0 +1,50 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FleetPlacerTest {
+
+    @Test
+    void acceptsFleetsThatNeedBothDirections() {
+        // Three ships per row leave a column free for the last three
+        int[] fleet = new int[33];
+        Arrays.fill(fleet, 3);
+        FleetPlacer.checkFeasible(10, 10, fleet);
+        assertPlaces(10, 10, fleet);
+    }
+
+    @Test
+    void acceptsFleetsThatOnlyFitAcrossTheShortSide() {
+        int[] fleet = {2, 2, 2, 2, 2};
+        FleetPlacer.checkFeasible(2, 5, fleet);
+        assertPlaces(2, 5, fleet);
+    }
+
+    @Test
+    void acceptsFleetsThatOnlyAnExhaustiveSearchFinds() {
+        // The 4 across the top, the 3s under it and the 2 standing in the corner left over
+        int[] fleet = {2, 3, 3, 4};
+        FleetPlacer.checkFeasible(3, 4, fleet);
+        assertPlaces(3, 4, fleet);
+    }
+
+    @Test
+    void rejectsFleetsWithNoLayout() {
+        // Enough cells, but only two ships of 3 fit on two rows of 5 and none stand up
+        assertThrows(IllegalArgumentException.class, () -> FleetPlacer.checkFeasible(2, 5, new int[]{3, 3, 3}));
+        assertThrows(IllegalArgumentException.class, () -> FleetPlacer.checkFeasible(3, 5, new int[]{3, 3, 4, 5}));
+    }
+
+    private static void assertPlaces(int rows, int cols, int[] fleet) {
+        for (int seed = 0; seed < 20; seed++) {
+            Board board = FleetPlacer.place(rows, cols, fleet, new Random(seed));
+            assertEquals(fleet.length, board.shipCount());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameConfigTest {
+
+    @Test
+    void expandsShipCounts() {
+        GameConfig config = new GameConfig();
+        config.accept("--fleet", "5,3x2,2");
+        assertArrayEquals(new int[] {5, 3, 3, 2}, config.validate().fleet());
+    }
+
+    @Test
+    void checksTheFleetAgainstTheFinalBoardSize() {
+        // The fleet comes before the size that makes room for it
+        GameConfig config = new GameConfig();
+        config.accept("--fleet", "1x200");
+        config.accept("--size", "20");
+        config.validate();
+    }
+
+    @Test
+    void rejectsCountsLargerThanTheBoardBeforeAllocating() {
+        GameConfig huge = new GameConfig();
+        huge.accept("--fleet", "1x2000000000");
+        assertThrows(IllegalArgumentException.class, huge::validate);
+
+        // Both counts are fine as ints, but together they wrap around
+        GameConfig overflowing = new GameConfig();
+        overflowing.accept("--fleet", "1x2147483647,1x2147483647");
+        assertThrows(IllegalArgumentException.class, overflowing::validate);
+    }
+}
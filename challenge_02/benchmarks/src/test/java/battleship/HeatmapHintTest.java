@@ -0,0 +1,118 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeatmapHintTest {
+
+    @Test
+    void countsEachFleetOnce() {
+        HeatmapHint hint = new HeatmapHint(3, 3, new int[]{1, 1}, new Random(1));
+        HeatmapHint.Heatmap heatmap = hint.heatmap();
+        assertTrue(heatmap.exact());
+        // Two identical single-cell ships: 9 * 8 / 2 ways
+        assertEquals(36, heatmap.fleets());
+        for (double probability : heatmap.probabilities()) assertEquals(2.0 / 9, probability, 1e-12);
+    }
+
+    @Test
+    void matchesBruteForceOnRandomPositions() {
+        Random rnd = new Random(5);
+        for (int position = 0; position < 40; ) {
+            int rows = 4 + rnd.nextInt(3);
+            int cols = 4 + rnd.nextInt(3);
+            int[] fleet = position % 2 == 0 ? new int[]{3, 2, 2} : new int[]{4, 3, 2};
+            GameEngine game = new GameEngine(rows, cols, fleet, rnd.nextLong());
+            HeatmapHint hint = new HeatmapHint(rows, cols, fleet, new Random(1));
+            int shots = rnd.nextInt(rows * cols / 2);
+            for (int i = 0; i < shots && !game.isOver(); i++) game.fire(rnd.nextInt(rows * cols), hint);
+            if (game.isOver()) continue;
+
+            BruteForce expected = new BruteForce(game.board(), fleet);
+            HeatmapHint.Heatmap heatmap = hint.heatmap();
+            assertTrue(heatmap.exact(), "position " + position);
+            for (int cell = 0; cell < rows * cols; cell++) {
+                assertEquals(expected.probability(cell), heatmap.probabilities()[cell], 1e-9,
+                        "position " + position + ", cell " + cell);
+            }
+            position++;
+        }
+    }
+
+    // Tries every ship in every position, in every order, and keeps the fleets the shots allow
+    private static final class BruteForce {
+        private final int rows;
+        private final int cols;
+        private final int[] ships;
+        // Misses and sunk ships, which no afloat ship covers, and hits that one must cover
+        private final boolean[] blocked;
+        private final boolean[] open;
+        private final boolean[] occupied;
+        private final long[] covered;
+        private long fleets;
+
+        BruteForce(Board board, int[] fleet) {
+            rows = board.rows();
+            cols = board.cols();
+            List<Integer> afloat = new ArrayList<>();
+            for (int size : fleet) afloat.add(size);
+            for (int id = 0; id < board.shipCount(); id++) {
+                if (board.isSunk(id)) afloat.remove(Integer.valueOf(board.shipSize(id)));
+            }
+            ships = afloat.stream().mapToInt(Integer::intValue).toArray();
+            blocked = new boolean[rows * cols];
+            open = new boolean[rows * cols];
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    if (!board.isShot(row, col)) continue;
+                    boolean afloatHit = board.hasShip(row, col) && !board.isSunk(board.shipAt(row, col));
+                    if (afloatHit) open[row * cols + col] = true;
+                    else blocked[row * cols + col] = true;
+                }
+            }
+            occupied = new boolean[rows * cols];
+            covered = new long[rows * cols];
+            place(0);
+        }
+
+        double probability(int cell) {
+            return fleets == 0 ? 0 : (double) covered[cell] / fleets;
+        }
+
+        private void place(int ship) {
+            if (ship == ships.length) {
+                for (int cell = 0; cell < open.length; cell++) {
+                    if (open[cell] && !occupied[cell]) return;
+                }
+                fleets++;
+                for (int cell = 0; cell < occupied.length; cell++) {
+                    if (occupied[cell]) covered[cell]++;
+                }
+                return;
+            }
+            int size = ships[ship];
+            for (int horizontal = 0; horizontal < 2; horizontal++) {
+                for (int row = 0; row < rows; row++) {
+                    for (int col = 0; col < cols; col++) {
+                        if (horizontal == 1 ? col + size > cols : row + size > rows) continue;
+                        int step = horizontal == 1 ? 1 : cols;
+                        boolean free = true;
+                        for (int i = 0, cell = row * cols + col; i < size; i++, cell += step) {
+                            free &= !occupied[cell] && !blocked[cell];
+                        }
+                        if (!free) continue;
+                        for (int i = 0, cell = row * cols + col; i < size; i++, cell += step) occupied[cell] = true;
+                        place(ship + 1);
+                        for (int i = 0, cell = row * cols + col; i < size; i++, cell += step) occupied[cell] = false;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayLogTest {
+    // Magic, version, rows and cols each take one byte on a 10x10 board
+    private static final int FLEET_COUNT_AT = 6;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void loadsWhatWasRecorded() throws IOException {
+        Path saved = record();
+        ReplayLog log = ReplayLog.load(saved);
+        assertArrayEquals(new int[] {4, 3, 2}, log.config().fleet());
+        assertEquals(42, log.seed());
+    }
+
+    @Test
+    void rejectsFleetCountsLargerThanTheFile() throws IOException {
+        byte[] bytes = Files.readAllBytes(record());
+        // 2^35 - 1 ships, then a count that decodes as -1
+        assertCorrupt(withFleetCount(bytes, new byte[] {-1, -1, -1, -1, 0x7F}));
+        assertCorrupt(withFleetCount(bytes, new byte[] {-1, -1, -1, -1, -1, -1, -1, -1, -1, 0x01}));
+    }
+
+    private Path record() throws IOException {
+        GameConfig config = new GameConfig();
+        Board enemy = FleetPlacer.place(config.rows(), config.cols(), config.fleet(), new Random(1));
+        Path path = dir.resolve("game.bsr");
+        ReplayLog.record(config, 42, enemy, null).save(path);
+        return path;
+    }
+
+    private byte[] withFleetCount(byte[] bytes, byte[] count) {
+        byte[] corrupt = new byte[bytes.length - 1 + count.length];
+        System.arraycopy(bytes, 0, corrupt, 0, FLEET_COUNT_AT);
+        System.arraycopy(count, 0, corrupt, FLEET_COUNT_AT, count.length);
+        System.arraycopy(bytes, FLEET_COUNT_AT + 1, corrupt, FLEET_COUNT_AT + count.length, bytes.length - FLEET_COUNT_AT - 1);
+        return corrupt;
+    }
+
+    private void assertCorrupt(byte[] bytes) throws IOException {
+        Path path = dir.resolve("corrupt.bsr");
+        Files.write(path, bytes);
+        IOException e = assertThrows(IOException.class, () -> ReplayLog.load(path));
+        assertTrue(e.getMessage().startsWith("Corrupt replay"), e.getMessage());
+    }
+}
@@ -0,0 +1,37 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShipMasksTest {
+
+    @Test
+    void countsEachPlacementOnce() {
+        ShipMasks masks = ShipMasks.of(3, 4);
+        // Length 1 has one placement per cell, longer ships fit across and down
+        assertEquals(12, placements(masks, 1));
+        assertEquals(3 * 3 + 2 * 4, placements(masks, 2));
+        assertEquals(3 * 2 + 1 * 4, placements(masks, 3));
+        assertEquals(3 * 1, placements(masks, 4));
+    }
+
+    @Test
+    void singleCellShipsHaveOnePlacementForBothOrientations() {
+        ShipMasks masks = ShipMasks.of(3, 4);
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 4; col++) {
+                int placement = masks.placement(1, row, col, true);
+                assertNotEquals(ShipMasks.NONE, placement);
+                assertEquals(placement, masks.placement(1, row, col, false));
+                assertTrue(masks.contains(placement, row * 4 + col));
+            }
+        }
+    }
+
+    private static int placements(ShipMasks masks, int length) {
+        return (masks.end(length) - masks.start(length)) / masks.words();
+    }
+}